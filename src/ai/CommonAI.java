@@ -62,9 +62,11 @@ public class CommonAI
 	}//chooseMove
 	
 	/**
-	 * roughCalc calculates a _very_ rough estimate of 
-	 * total damage done so that the AI can more or less
-	 * determine what it's most effective move will be.
+	 * roughCalc estimates the total damage done so that the
+	 * AI can determine what it's most effective move will be.
+	 * The estimate is the game's own damage calculation, taken
+	 * from the damage table, without the random roll and
+	 * critical hits.
 	 * 
 	 * @param cp The computer player.
 	 * @param dp The defending player.
@@ -72,11 +74,10 @@ public class CommonAI
 	 */
 	protected int roughCalc(PkmnPokemon cp, PkmnPokemon dp, PkmnMove pm)
 	{		
-		double typeEffect = 
-				PkmnGameImpl.typeEffectiveness[pm.getType().getNum()]
-				                              [dp.getType1().getNum()];
+		int moveIndex = PkmnDamageTable.moveIndex(cp, pm);
+		if (moveIndex < 0) return 0;
 		
-		return (int)((.84*(cp.getAtk()/dp.getDef())+2)*typeEffect);
+		return (int)PkmnDamageTable.getDamage(cp, dp, moveIndex);
 	}//roughCalc
 	
 //==============================================================================//
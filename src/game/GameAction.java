@@ -88,6 +88,18 @@ public abstract class GameAction
         return false;
     }
 
+    /**
+     * tells whether the action is a "ready" action
+     *
+     * @return true iff the action tells the game that the player has
+     *  become ready to play
+     */
+    public boolean isReadyNotice() {
+        // by default, it's not a ready action.  (This method is overridden
+        // in GameReadyAction.)
+        return false;
+    }
+
     /**
      * tells whether the action is a "null" action
      *
@@ -0,0 +1,340 @@
+package game;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The queue of actions waiting to be processed by a game.  Any number of
+ * threads (players, proxies, timers) may add actions, but only the game's
+ * own thread takes them.  Adding never blocks or locks: the actions are
+ * kept in a lock-free queue, and the game's thread is parked while the
+ * queue is empty and unparked when an action arrives.
+ * <P>
+ * The inbox is bounded.  It holds at most 'capacity' actions, and at
+ * most 'quota' from any one source (a player, or a timer), so a player
+ * that floods the game can neither use up memory nor crowd out the other
+ * players.  An action that does not fit is rejected.  So that a game
+ * can always be ended, each source also has a place reserved for one quit
+ * or quit-acknowledge action, which is used when the action does not
+ * otherwise fit; further ones are rejected like any other action.  So the
+ * inbox never holds more than 'capacity' actions, plus one for each
+ * source.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class GameActionInbox {
+
+    /**
+     * The number of actions an inbox holds, if not told otherwise.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The number of actions an inbox holds from one source, if not told
+     * otherwise.
+     */
+    public static final int DEFAULT_QUOTA = 64;
+
+    // the actions waiting to be taken
+    private ConcurrentLinkedQueue<GameAction> queue;
+
+    // the number of actions waiting
+    private AtomicInteger depth;
+
+    // the most actions that have been waiting at once
+    private AtomicInteger peakDepth;
+
+    // the number of actions accepted and rejected
+    private AtomicLong accepted;
+    private AtomicLong rejected;
+
+    // the actions waiting, and rejected, for each source
+    private ConcurrentHashMap<Object, SourceCount> counts;
+
+    // the most actions that can be waiting, in all and for one source
+    private int capacity;
+    private int quota;
+
+    // the thread taking actions, if it has started waiting for any
+    private volatile Thread consumer;
+
+    /**
+     * Constructor for a GameActionInbox with the default capacity and
+     * quota.
+     */
+    public GameActionInbox() {
+        this(DEFAULT_CAPACITY, DEFAULT_QUOTA);
+    }
+
+    /**
+     * Constructor for a GameActionInbox.
+     *
+     * @param capacity the most actions that can be waiting
+     * @param quota the most actions that can be waiting from one source
+     */
+    public GameActionInbox(int capacity, int quota) {
+        queue = new ConcurrentLinkedQueue<GameAction>();
+        depth = new AtomicInteger(0);
+        peakDepth = new AtomicInteger(0);
+        accepted = new AtomicLong(0);
+        rejected = new AtomicLong(0);
+        counts = new ConcurrentHashMap<Object, SourceCount>();
+        this.capacity = capacity;
+        this.quota = quota;
+        consumer = null;
+    }
+
+    /**
+     * Adds an action to the inbox, if there is room for it.  May be
+     * called from any thread.
+     *
+     * @param action the action to add
+     * @return true if the action was added; false if it was rejected
+     */
+    public boolean offer(GameAction action) {
+        SourceCount count = countFor(action);
+
+        // reserve a place for the action, first from its source's quota,
+        // then from the inbox's capacity; a quit that does not fit takes
+        // its source's reserved place, if that is free
+        if (!reserve(count.pending, quota, false)) {
+            if (!reserveQuit(count, action)) {
+                count.rejected.incrementAndGet();
+                rejected.incrementAndGet();
+                return false;
+            }
+            count.pending.incrementAndGet();
+            depth.incrementAndGet();
+        }
+        else if (!reserve(depth, capacity, false)) {
+            if (!reserveQuit(count, action)) {
+                count.pending.decrementAndGet();
+                count.rejected.incrementAndGet();
+                rejected.incrementAndGet();
+                return false;
+            }
+            depth.incrementAndGet();
+        }
+        accepted.incrementAndGet();
+
+        // keep track of the deepest the inbox has been
+        int d = depth.get();
+        for (int peak = peakDepth.get(); d > peak; peak = peakDepth.get()) {
+            if (peakDepth.compareAndSet(peak, d)) break;
+        }
+
+        // add the action, and wake the game's thread if it is waiting
+        queue.add(action);
+        Thread c = consumer;
+        if (c != null) LockSupport.unpark(c);
+        return true;
+    }
+
+    /**
+     * Takes the next action from the inbox, waiting until there is one.
+     * Must only be called from one thread (the game's).
+     *
+     * @return the next action
+     * @throws InterruptedException if the thread is interrupted while
+     *  waiting
+     */
+    public GameAction take() throws InterruptedException {
+        return poll(0);
+    }
+
+    /**
+     * Takes the next action from the inbox, waiting until there is one or
+     * until a time limit passes.  Must only be called from one thread
+     * (the game's).
+     *
+     * @param millis the longest to wait, in milliseconds, or 0 to wait
+     *  for as long as it takes
+     * @return the next action, or null if there was none in time
+     * @throws InterruptedException if the thread is interrupted while
+     *  waiting
+     */
+    public GameAction poll(long millis) throws InterruptedException {
+        consumer = Thread.currentThread();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        for (;;) {
+            GameAction action = queue.poll();
+            if (action != null) {
+                // give the action's place back, unless its source has
+                // been forgotten
+                depth.decrementAndGet();
+                SourceCount count = counts.get(sourceOf(action));
+                if (count != null) {
+                    count.pending.decrementAndGet();
+                    count.quit.compareAndSet(action, null);
+                }
+                return action;
+            }
+            if (Thread.interrupted()) throw new InterruptedException();
+
+            // nothing to do: sleep until an action is added.  (If one was
+            // added since we looked, the park returns at once.)
+            if (millis <= 0) {
+                LockSupport.park(this);
+            }
+            else {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) return null;
+                LockSupport.parkNanos(this, left);
+            }
+        }
+    }
+
+    /**
+     * Reserves a place under a limit.
+     *
+     * @param count the counter of places in use
+     * @param limit the most places that may be in use
+     * @param force whether to take a place even if the limit is reached
+     * @return true if a place was reserved
+     */
+    private static boolean reserve(AtomicInteger count, int limit, boolean force) {
+        for (;;) {
+            int n = count.get();
+            if (n >= limit && !force) return false;
+            if (count.compareAndSet(n, n+1)) return true;
+        }
+    }
+
+    /**
+     * Reserves a source's place for a quit or quit-acknowledge action.
+     *
+     * @param count the counts for the action's source
+     * @param action the action
+     * @return true if the action is a quit or quit-acknowledge, and the
+     *  source's place for one was free
+     */
+    private static boolean reserveQuit(SourceCount count, GameAction action) {
+        if (!action.isQuitRequest() && !action.isQuitAcknowledge()) {
+            return false;
+        }
+        return count.quit.compareAndSet(null, action);
+    }
+
+    /**
+     * Forgets the counts kept for a player, e.g., once it has left the
+     * game, so that they do not pile up.  Actions of the player's that are
+     * still waiting are taken as usual.
+     *
+     * @param p the player
+     */
+    public void forget(GamePlayer p) {
+        if (p != null) counts.remove(p);
+    }
+
+    /**
+     * Gets the counts for the source of an action, creating them the first
+     * time the source is seen.  Timer actions are counted by the timer that
+     * sent them, as each has its own placeholder player.
+     *
+     * @param action the action
+     * @return the counts for its source
+     */
+    private SourceCount countFor(GameAction action) {
+        Object source = sourceOf(action);
+        SourceCount count = counts.get(source);
+        if (count == null) {
+            SourceCount fresh = new SourceCount();
+            count = counts.putIfAbsent(source, fresh);
+            if (count == null) count = fresh;
+        }
+        return count;
+    }
+
+    /**
+     * Tells who an action is counted against.
+     *
+     * @param action the action
+     * @return the timer for a timer action, otherwise the action's player
+     *  (or this inbox, if it has none)
+     */
+    private Object sourceOf(GameAction action) {
+        Object source = action.isTimer() ?
+            ((GameTimerAction)action).getTimer() : action.getSource();
+        return source == null ? this : source;
+    }
+
+    /**
+     * Gets the number of actions waiting to be taken.
+     *
+     * @return the number of actions waiting
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Gets the most actions that have been waiting at once.
+     *
+     * @return the greatest depth so far
+     */
+    public int getPeakDepth() {
+        return peakDepth.get();
+    }
+
+    /**
+     * Gets the number of actions waiting from one player.
+     *
+     * @param p the player
+     * @return the number of the player's actions waiting
+     */
+    public int getDepth(GamePlayer p) {
+        SourceCount count = counts.get(p);
+        return count == null ? 0 : count.pending.get();
+    }
+
+    /**
+     * Gets the number of actions that have been accepted.
+     *
+     * @return the number of actions accepted
+     */
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    /**
+     * Gets the number of actions that have been rejected.
+     *
+     * @return the number of actions rejected
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of actions that have been rejected from one player.
+     *
+     * @param p the player
+     * @return the number of the player's actions rejected
+     */
+    public long getRejected(GamePlayer p) {
+        SourceCount count = counts.get(p);
+        return count == null ? 0 : count.rejected.get();
+    }
+
+    /**
+     * The counts kept for each source of actions.
+     */
+    private static class SourceCount {
+
+        // the source's actions waiting
+        AtomicInteger pending = new AtomicInteger(0);
+
+        // the source's actions rejected
+        AtomicLong rejected = new AtomicLong(0);
+
+        // the quit or quit-acknowledge action in the source's reserved
+        // place, if any
+        AtomicReference<GameAction> quit = new AtomicReference<GameAction>();
+    }
+}
@@ -0,0 +1,128 @@
+package game;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+/**
+ * Test class for GameActionInbox.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class GameActionInboxTest {
+
+    // an inbox holding 8 actions, at most 3 from any one source
+    GameActionInbox inbox = null;
+
+    // players to send actions from
+    GamePlayer p0 = null;
+    GamePlayer p1 = null;
+
+    @Before
+    /**
+     * Create a small inbox and two players.
+     */
+    public void setUp() {
+        inbox = new GameActionInbox(8, 3);
+        p0 = new GameImplTest.TestPlayer();
+        p1 = new GameImplTest.TestPlayer();
+    }
+
+    /**
+     * Makes a move action.
+     *
+     * @param p the player making the move
+     * @return the action
+     */
+    private static GameAction move(GamePlayer p) {
+        return new GameMoveAction(p) {};
+    }
+
+    @Test
+    /**
+     * A player cannot have more than its quota of actions waiting, but
+     * gets its place back when one is taken.
+     */
+    public void testQuota() throws InterruptedException {
+        for (int i = 0; i < 3; i++) assertTrue(inbox.offer(move(p0)));
+        assertFalse(inbox.offer(move(p0)));
+        assertEquals(3, inbox.getDepth(p0));
+        assertEquals(1, inbox.getRejected(p0));
+
+        // the other player is not crowded out
+        assertTrue(inbox.offer(move(p1)));
+        assertEquals(0, inbox.getRejected(p1));
+
+        assertNotNull(inbox.poll(1));
+        assertTrue(inbox.offer(move(p0)));
+        assertEquals(5, inbox.getAccepted());
+        assertEquals(1, inbox.getRejected());
+    }
+
+    @Test
+    /**
+     * The inbox cannot hold more than its capacity, from all sources
+     * together.
+     */
+    public void testCapacity() {
+        GamePlayer[] many = new GamePlayer[4];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = new GameImplTest.TestPlayer();
+            assertTrue(inbox.offer(move(many[i])));
+            assertTrue(inbox.offer(move(many[i])));
+        }
+        assertEquals(8, inbox.getDepth());
+        assertFalse(inbox.offer(move(p0)));
+        assertEquals(0, inbox.getDepth(p0));
+        assertEquals(1, inbox.getRejected(p0));
+        assertEquals(8, inbox.getPeakDepth());
+    }
+
+    @Test
+    /**
+     * A player that floods the inbox with quits gets one in past its
+     * quota and the capacity, and no more, so the depth stays bounded.
+     */
+    public void testQuitFloodIsBounded() throws InterruptedException {
+        int accepted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (inbox.offer(new GameQuitAction(p0))) accepted++;
+            if (inbox.offer(new GameQuitAcknowledgeAction(p0))) accepted++;
+        }
+        assertEquals(4, accepted);
+        assertEquals(4, inbox.getDepth(p0));
+
+        // a full inbox still takes one quit from each player
+        GamePlayer p2 = new GameImplTest.TestPlayer();
+        for (int i = 0; i < 3; i++) assertTrue(inbox.offer(move(p1)));
+        assertTrue(inbox.offer(move(p2)));
+        assertFalse(inbox.offer(move(p2)));
+        assertTrue(inbox.offer(new GameQuitAction(p2)));
+        assertFalse(inbox.offer(new GameQuitAction(p2)));
+        assertFalse(inbox.offer(new GameQuitAction(p0)));
+        assertEquals(9, inbox.getDepth());
+
+        // once the reserved quit has been taken, there is room for another
+        while (inbox.getDepth() > 0) inbox.poll(1);
+        for (int i = 0; i < 1000; i++) inbox.offer(new GameQuitAction(p0));
+        assertEquals(4, inbox.getDepth(p0));
+        assertEquals(4, inbox.getDepth());
+    }
+
+    @Test
+    /**
+     * A player that has been forgotten has no counts kept, and its actions
+     * that were waiting are still taken.
+     */
+    public void testForget() throws InterruptedException {
+        for (int i = 0; i < 3; i++) assertTrue(inbox.offer(move(p0)));
+        assertFalse(inbox.offer(move(p0)));
+        inbox.forget(p0);
+        assertEquals(0, inbox.getDepth(p0));
+        assertEquals(0, inbox.getRejected(p0));
+        assertEquals(3, inbox.getDepth());
+        for (int i = 0; i < 3; i++) assertNotNull(inbox.poll(1));
+        assertEquals(0, inbox.getDepth());
+        assertEquals(0, inbox.getDepth(p0));
+    }
+}
@@ -17,10 +17,20 @@ public abstract class GameComputerPlayer implements GamePlayer, Runnable
     // the player's id, from the game's viewpoint
     private int playerId;
     
-    // boolean that tells whether a move has been requested by the game.
-    // This is used to avoid having the game process extra "make move"
-    // requests.
-    private boolean moveHasBeenRequested;
+    // the number of times the game has requested a move, and how many of
+    // those requests have been handled.  A request that arrives while a
+    // move is being made is handled afterward, unless the move was sent
+    // after it arrived: the game only asks again when its state changes,
+    // so such a request must not be lost, but a move already answers it.
+    private long movesRequested;
+    private long movesHandled;
+
+    // the thread that makes this player's moves, one at a time; it is
+    // started when the first move is requested
+    private Thread worker;
+
+    // tells whether the player has finished, so its thread should stop
+    private boolean finished;
 
     /**
      * Constructor for the GameComputerPlayer class.
@@ -33,7 +43,10 @@ public abstract class GameComputerPlayer implements GamePlayer, Runnable
         this.playerId = -1;
 
         // we have not yet been requested to make a move
-        moveHasBeenRequested = false;
+        movesRequested = 0;
+        movesHandled = 0;
+        worker = null;
+        finished = false;
     }
 
     /**
@@ -74,37 +87,65 @@ public abstract class GameComputerPlayer implements GamePlayer, Runnable
      * make a move.  This is where different strategies are possible, so
      * we leave this to the subclass.
      */
-    public void requestMove() {
-        // if a move had not already been requested, start up a thread
-        // that will request a move
-        if (!moveHasBeenRequested) {
-
-            // register that move has now been requested
-            moveHasBeenRequested = true;
-
-            // create and run the thread
-            Thread t = new Thread(this);
-            t.start();
+    public synchronized void requestMove() {
+        if (finished) return;
+
+        // register the request, and wake the thread that makes our moves
+        // (starting it, if this is the first request)
+        movesRequested++;
+        if (worker == null) {
+            worker = new Thread(this, "computer-player");
+            worker.setDaemon(true);
+            worker.start();
         }
+        notifyAll();
     }
     
     /**
-     * The method that will run in the new thread when a move has
-     * been requested.
+     * The method that runs in the player's thread: makes a move each time
+     * one has been requested, until the player has finished.
      */
     public void run() {
+        for (;;) {
+            // wait for a request that has not been handled
+            synchronized(this) {
+                while (!finished && movesHandled == movesRequested) {
+                    try {
+                        wait();
+                    }
+                    catch (InterruptedException ix) {
+                        return;
+                    }
+                }
+                if (finished) return;
+                movesHandled = movesRequested;
+            }
 
-        // request the move
-        doRequestMove();
+            // request the move
+            doRequestMove();
+        }
+    }
 
-        // when finished, mark object as not having a pending move-request
-        moveHasBeenRequested = false;
+    /**
+     * Sends a move to the game.  Subclasses should send the moves they
+     * make in doRequestMove this way, so that requests the game made
+     * before the move was sent are known to be answered by it, and do
+     * not lead to a second move that the game would reject.
+     *
+     * @param move the move to send
+     */
+    protected void sendMove(GameAction move) {
+        synchronized(this) {
+            movesHandled = movesRequested;
+        }
+        game.applyAction(move);
     }
 
     /**
      * Action to perform when a move is requested.  This is the "key" 
      * method for a computer player: here is where the subclass specifies
-     * the algorithm by which the computer player selects a move.
+     * the algorithm by which the computer player selects a move.  It is
+     * called on the player's own thread, one request at a time.
      */ 
     protected abstract void doRequestMove();
 
@@ -166,10 +207,15 @@ public abstract class GameComputerPlayer implements GamePlayer, Runnable
      * will be "quit". Gives the player last chance to "clean up".  (E.g.,
      * closing windows, terminating network connections, closing files.)
      * Typically called by the Game object just before the entire program
-     * terminates.
+     * terminates.  Subclasses that override this should call it, so that
+     * the player's thread stops.
      */
     public void finishUp(){
-        // ignore
+        // stop the thread that makes our moves
+        synchronized(this) {
+            finished = true;
+            notifyAll();
+        }
     }
 
     /**
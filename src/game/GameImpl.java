@@ -1,6 +1,11 @@
 package game;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A generic multi-player game, which may be subclassed to implement a
@@ -20,6 +25,11 @@ public abstract class GameImpl implements Game
     // we see in the queue
     private static boolean MONITORQUEUE = false;
 
+    // how often, in milliseconds, the game looks at its players again
+    // while waiting for them to become ready, in case one became ready
+    // without sending a GameReadyAction
+    private static final long READY_RECHECK = 1000;
+
     /**
      * The array of players that are playing the game.
      */
@@ -30,13 +40,50 @@ public abstract class GameImpl implements Game
      */
     protected boolean gameStarted;
 
-    // Vector into which actions from players are placed
-    private Vector actionVec;
+    // inbox into which actions from players are placed; the game's thread
+    // waits on it until an action arrives
+    private GameActionInbox inbox;
 
     /**
      * The number of players that are presently playing the game.
      */
     protected int playerCount;
+
+    // the executor on which all games notify their players, unless told
+    // otherwise.  Its threads are reused from one notification to the
+    // next, and do not keep the program running.
+    private static final ExecutorService SHARED_NOTIFIER_EXECUTOR =
+        Executors.newCachedThreadPool(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "game-notifier");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+    // the executor on which this game notifies its players
+    private Executor notifierExecutor;
+
+    // the object that delivers notifications to each player, in order
+    private PlayerNotifier[] notifier;
+
+    // the number of times the state has changed
+    private AtomicLong stateVersion;
+
+    // the number of timer events the game has handled
+    private long timerEvents;
+
+    // object on which the game waits for its players to become ready
+    private Object readyLock;
+
+    // how long to wait for the players to become ready, and to acknowledge
+    // that it is time to quit, in milliseconds (0 means forever)
+    private long readyTimeout;
+    private long quitAckTimeout;
+
+    // the object told when the game starts and finishes; if there is none,
+    // the program exits when the game finishes
+    private GameListener listener;
     
     ////////////////////////////////////////////
     // *********abstract methods***********
@@ -174,6 +221,14 @@ public abstract class GameImpl implements Game
 
         // make a copy of the array to store as part of our state
         player = (GamePlayer[])players.clone();
+
+        // create the objects that notify each player
+        notifier = new PlayerNotifier[player.length];
+        for (int i = 0; i < player.length; i++) {
+            if (player[i] != null) {
+                notifier[i] = new PlayerNotifier(player[i], notifierExecutor);
+            }
+        }
         
         // return "success"
         return null;
@@ -192,8 +247,8 @@ public abstract class GameImpl implements Game
         // mark game as not having started
         gameStarted = false;
 
-        // initialize vector for getting messages from players
-        actionVec = new Vector();
+        // initialize inbox for getting messages from players
+        inbox = new GameActionInbox();
 
         // set player-count to 0, as we don't have any players yet
         playerCount = 0;
@@ -201,37 +256,86 @@ public abstract class GameImpl implements Game
         // set the player-array to null, for now (this will eventually get
         // filled in
         player = null;
+        notifier = null;
+        stateVersion = new AtomicLong(0);
+        timerEvents = 0;
+
+        // by default, wait as long as it takes for the players
+        readyLock = new Object();
+        readyTimeout = 0;
+        quitAckTimeout = 0;
+
+        // with no listener, end the program when the game ends
+        listener = null;
+
+        // notify players on the shared executor
+        notifierExecutor = SHARED_NOTIFIER_EXECUTOR;
     }
 
     /**
      * Plays a generic game.  (An actual game will be played by a subclass
      * object.)  Initializes the game; waits for all players to tell it
      * that they are ready; continually processes requests from the players
-     * until the game is over.
+     * until the game is over.  The game's thread sleeps until a player
+     * requests something, and players are only asked for moves when the
+     * game starts and whenever a move changes the state of the game.
      */
     public void playGame() {
 
         // if game is already started, return immediately so we don't
         // reinitialize, etc.
         if (gameStarted) return;
+        gameStarted = true;
+
+        // play; however the game ends, let the subclass clean up
+        try {
+            play();
+        }
+        finally {
+            performAfterGameEnds();
+        }
+    }
+
+    /**
+     * Plays the game, from initializing it until it is over and the
+     * players have acknowledged that it is over (or until the thread is
+     * interrupted).
+     */
+    private void play() {
 
         // initialize the game
         initializeGame();
 
-        // wait for all players to be ready
-        waitForAllReady();
+        // wait for all players to be ready; if they are not ready in
+        // time, give up on the game
+        if (!waitForAllReady()) {
+            quitGame();
+            return;
+        }
+        if (listener != null) listener.gameStarted(this);
+
+        // ask for the first moves
+        requestMoves();
 
-        // keep asking players for moves and such until the game is over
+        // keep processing requests from players until the game is over
         while (!gameOver()) {
 
-            // get an action-request from a player; find out which player requested
-            // it.
+            // wait for an action-request from a player; find out which player
+            // requested it.  If we are interrupted, stop playing.
             GameAction action = this.getAction();
+            if (action == null) {
+                quitGame();
+                return;
+            }
             GamePlayer source = action.getSource();
 
-            // if the action is a timer "move", handle the timer event
+            // if the action is a timer "move", handle the timer event; if
+            // that changed the state, ask for the next moves
             if (action.isTimer()) {
+                long version = stateVersion.get();
+                timerEvents++;
                 handleTimerEvent();
+                if (stateVersion.get() != version) requestMoves();
             }
             // if the action is a "game move" attempt to make that move
             else if (action.isMove()) {
@@ -240,9 +344,15 @@ public abstract class GameImpl implements Game
                 }
                 GameMoveAction move = (GameMoveAction)action;
                 if (canMove(source)) { // player allowed to make move: try
-                    if (!makeMove(source, move)) {
-                        // move is illegal: notify player
+                    if (makeMove(source, move)) {
+                        // the state has changed: ask for the next moves
+                        requestMoves();
+                    }
+                    else {
+                        // move is illegal: notify player, who still owes
+                        // us a move
                         source.illegalMove();
+                        performAction(source, new RequestMoveInvoker());
                     }
                 }
                 else {  // player not allowed to make move: notify him
@@ -258,18 +368,19 @@ public abstract class GameImpl implements Game
                     // notify all players that game is being terminated
                     performActionOnAll(new TimeToQuitInvoker());
                     
-                    // wait for all players to acknowledge the "quit"
+                    // wait for all players to acknowledge the "quit"; then
+                    // the game is done
                     waitForQuitAck();
+                    return;
                 }
                 else { // player not allowed to quit
                     source.invalidRequest();
                 }
             }
-            // if no players are requesting service, request a move from each,
-            // in case they have forgotten; then wait for a move to occur
+            // if a player sends a null action, it has lost track of whose
+            // move it is: request a move from each
             else if (action.isNullAction()) {
                 requestMoves();
-                wait(100);
             }
             // if it's some other kind of action, it's invalid: notify user
             else {
@@ -315,10 +426,21 @@ public abstract class GameImpl implements Game
         // Keep getting actions from the action-queue; if we get an
         // acknowledge action, mark it down; otherwise notify user that
         // request is invalid
+        long deadline = System.currentTimeMillis() + quitAckTimeout;
         for (;;) {
 
-            // get the action and the player doing it
-            GameAction action = this.getAction();
+            // wait for an action and get the player doing it.  If we are
+            // interrupted, give up waiting; if the players take too long
+            // to acknowledge, quit without them.
+            long left = 0;
+            if (quitAckTimeout > 0) {
+                left = Math.max(1, deadline - System.currentTimeMillis());
+            }
+            GameAction action = this.getAction(left);
+            if (action == null) {
+                quitGame();
+                return;
+            }
             GamePlayer source = action.getSource();
 
             // if the action acknowledges a "quit" mark that player off;
@@ -327,16 +449,18 @@ public abstract class GameImpl implements Game
                 int idx = indexOf(source);
                 if (idx >= 0 && !acknowledged[idx]) {
                     acknowledged[idx] = true; // mark that player
+                    inbox.forget(source); // the player has left
                     playersLeft--; // decrement count
                     if (playersLeft == 0) {
                         // if no more players left to acknowledge, quit game
                         quitGame();
+                        return;
                     }
                 }
             }
-            // if no player has given an action, just wait some more
+            // if a player has lost track of things, just wait some more
             else if (action.isNullAction()) {
-                Thread.yield();
+                // ignore
             }
             // if we get an action that is anything but a "quit acknowledge",
             // tell user that it's invalid
@@ -365,57 +489,108 @@ public abstract class GameImpl implements Game
     }
 
     /**
-     * Gets the next action requested by a player.
+     * Gets the next action requested by a player, waiting until there is
+     * one.
      *
-     * @return the next action requested by a player, or a GameNullAction if
-     *  no player has requested an action.
+     * @return the next action requested by a player, or null if the
+     *  thread was interrupted while waiting
      */
     private GameAction getAction() {
-        // synchronize so that we don't get messed up with threads
-        // testing/modifying the vector at the same time
-        synchronized(actionVec) {
-            // there is no request, return a GameNullAction
-            if (actionVec.isEmpty()) return new GameNullAction(null);
-            // if there is at least one request, remove the first one
-            // and return it
-            else {
-                GameAction rtnVal = (GameAction)actionVec.elementAt(0);
-                actionVec.removeElementAt(0);
-                return rtnVal;
-            }
+        return getAction(0);
+    }
+
+    /**
+     * Gets the next action requested by a player, waiting until there is
+     * one or until a time limit passes.
+     *
+     * @param millis the longest to wait, in milliseconds, or 0 to wait
+     *  for as long as it takes
+     * @return the next action requested by a player, or null if there was
+     *  none in time or the thread was interrupted while waiting
+     */
+    private GameAction getAction(long millis) {
+        try {
+            return inbox.poll(millis);
+        }
+        catch (InterruptedException ix) {
+            // keep the interrupt so our caller can see it
+            Thread.currentThread().interrupt();
+            return null;
         }
     }
 
     /**
-     * Ends the game.
+     * Ends the game.  If the game's thread was interrupted, the program
+     * is not ended even if there is no listener: the game just returns
+     * from playGame, leaving whoever interrupted it to carry on.
      */
     private void quitGame() {
     
-        // tell each player to finish up; then exit
+        // tell each player to finish up, and forget what the inbox kept
+        // about it; then tell our listener, or if we have none, exit
         for (int i = 0; i < player.length; i++) {
-            if (player[i] != null) player[i].finishUp();
+            if (player[i] != null) {
+                player[i].finishUp();
+                inbox.forget(player[i]);
+            }
         }
-        System.exit(0);
+        if (listener != null) {
+            listener.gameFinished(this);
+        }
+        else if (!Thread.currentThread().isInterrupted()) {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Sets the object to tell when the game starts and finishes.  A game
+     * with a listener returns from playGame when it finishes, instead of
+     * ending the program.
+     *
+     * @param l the listener, or null to end the program when the game
+     *  finishes
+     */
+    public void setGameListener(GameListener l) {
+        listener = l;
     }
 
     /**
      * Applies an action to the GameImpl object.  Typically called by a player
-     * who wants to request an action on its behalf.
+     * who wants to request an action on its behalf.  If the player already
+     * has too many actions waiting, the action is rejected and the player
+     * is told its request is invalid.
      *
      * @param the player requesting the action
      */
     public void applyAction(GameAction action) {
-        // synchronize so that we don't get messed up with threads
-        // testing/modifying the vector at the same time
-        synchronized(actionVec) {
-            // as long as the action is not null, add it to the end of our
-            // action vector
-            if (action != null) {
-                actionVec.addElement(action);
+        // a player that has become ready just wakes the game, if it is
+        // waiting for its players
+        if (action != null && action.isReadyNotice()) {
+            synchronized(readyLock) {
+                readyLock.notifyAll();
+            }
+            return;
+        }
+
+        // as long as the action is not null, add it to the end of our
+        // inbox, waking the game's thread if it is waiting
+        if (action != null && !inbox.offer(action)) {
+            if (action.getSource() != null) {
+                action.getSource().invalidRequest();
             }
         }
     }
 
+    /**
+     * Gets the inbox of actions waiting to be processed, e.g., to see
+     * how many are waiting or how many have been rejected.
+     *
+     * @return the inbox
+     */
+    public GameActionInbox getActionInbox() {
+        return inbox;
+    }
+
     /**
      * Handles a timer event.  By default, the method does nothing.  However,
      * for games that require a timer, this method provides a place to put
@@ -437,29 +612,65 @@ public abstract class GameImpl implements Game
         return indexOf(gp);
     }
 
+    /**
+     * Sets how long the game waits for its players: to become ready when
+     * the game starts, and to acknowledge that it is time to quit when it
+     * ends.  By default, the game waits as long as it takes.
+     *
+     * @param readyMillis how long to wait for the players to become ready,
+     *  in milliseconds, or 0 to wait forever
+     * @param quitAckMillis how long to wait for the players to acknowledge
+     *  quitting, in milliseconds, or 0 to wait forever
+     */
+    public void setPlayerTimeouts(long readyMillis, long quitAckMillis) {
+        readyTimeout = readyMillis;
+        quitAckTimeout = quitAckMillis;
+    }
+
     /**
      * Waits for all players to acknowledge that they are ready to play
-     * the game.
-     * 
+     * the game.  The game sleeps until a player sends a GameReadyAction
+     * to say that it has become ready; it also looks again every second,
+     * so a player that becomes ready without saying so is not waited for
+     * forever.
+     *
+     * @return true if all the players became ready; false if they did not
+     *  in time, or the thread was interrupted
      */
-    private void waitForAllReady() {
+    private boolean waitForAllReady() {
     
-        // continually loop through the array of players until all are
-        // ready to play
-        for (;;) {
-            boolean foundStraggler = false;
-            for (int i = 0; i < player.length; i++) {
-                foundStraggler |= player[i] != null && !player[i].isReady();
-            }
-            if (!foundStraggler) {
-                // perform any action that is necessary after all
-                // players are ready; then return
-                performAfterAllAreReady();
-                return;
+        long deadline = System.currentTimeMillis() + readyTimeout;
+        synchronized(readyLock) {
+            // check the players again each time one says it is ready,
+            // until all are
+            for (;;) {
+                boolean foundStraggler = false;
+                for (int i = 0; i < player.length; i++) {
+                    foundStraggler |= player[i] != null && !player[i].isReady();
+                }
+                if (!foundStraggler) break;
+
+                try {
+                    if (readyTimeout <= 0) {
+                        readyLock.wait(READY_RECHECK);
+                    }
+                    else {
+                        long left = deadline - System.currentTimeMillis();
+                        if (left <= 0) return false;
+                        readyLock.wait(Math.min(left, READY_RECHECK));
+                    }
+                }
+                catch (InterruptedException ix) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
             }
-            // If straggler was wait for one second before trying again
-            wait(1000);
         }
+
+        // perform any action that is necessary after all players are
+        // ready; then return
+        performAfterAllAreReady();
+        return true;
     }
     
     /**
@@ -472,41 +683,156 @@ public abstract class GameImpl implements Game
     }
 
     /**
-     * Waits for a specified amount of time
-     *
-     * @param milliSeconds the number of milliseconds to wait
+     * Performs game-specific action that needs to be done once the game
+     * has ended, however it ended (e.g., stopping timers).
      * 
      */
-    private void wait(int milliSeconds) {
-    
-        // perform a "sleep" for the specified number of milliseconds;
-        // if an "interruptedException" occurs, return early.
-        try {
-            Thread.sleep(milliSeconds);
-        }
-        catch (InterruptedException ix) {
+    protected void performAfterGameEnds() {
+        // by default, do nothing
+    }
+
+    /**
+     * Changes the executor on which the players are notified, e.g., to
+     * one that runs each notification on a lightweight thread.  Each
+     * player still gets its notifications one at a time, in order.
+     *
+     * @param executor the executor to notify the players on
+     */
+    public void setNotifierExecutor(Executor executor) {
+        notifierExecutor = executor;
+        if (notifier != null) {
+            for (int i = 0; i < notifier.length; i++) {
+                if (notifier[i] != null) notifier[i].setExecutor(executor);
+            }
         }
     }
-    
+
     /**
      * Notifies all players that the state has changed.  Performs each
-     * notification in a separate thread so that players don't have to
-     * wait for one another
+     * notification off the game's thread so that players don't have to
+     * wait for one another.  A player that has not yet been told of an
+     * earlier change is not told again: when it is told, it sees the
+     * latest state.
      */
     protected final void notifyAllStateChanged() {
+        long version = stateVersion.incrementAndGet();
+
+        // a game that is being driven directly has no players to notify
+        if (player == null) return;
+
         // notify all players that the state of the game has changed
-        performActionOnAll(new StateChangedInvoker());
+        for (int i = 0; i < player.length; i++) {
+            if (player[i] != null) {
+                notifier[i].sendStateChanged(version);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of timer events the game has handled.
+     *
+     * @return the number of timer events
+     */
+    public long getTimerEvents() {
+        return timerEvents;
+    }
+
+    /**
+     * Gets the version of the game's state, which goes up by one each
+     * time the state changes.
+     *
+     * @return the state version
+     */
+    public long getStateVersion() {
+        return stateVersion.get();
+    }
+
+    /**
+     * Gets the version of the state a player was last told about.  The
+     * player is up to date if this is the game's state version.
+     *
+     * @param gp the player
+     * @return the version, or 0 if the player has not been told of any
+     *  change
+     */
+    public long getDeliveredStateVersion(GamePlayer gp) {
+        int idx = whoAmI(gp);
+        return idx < 0 ? 0 : notifier[idx].getDeliveredVersion();
+    }
+
+    /**
+     * Gets the number of state changes that were not sent separately to a
+     * player, because the player had not yet been told of an earlier one.
+     *
+     * @param gp the player
+     * @return the number of state changes coalesced for the player
+     */
+    public long getCoalescedStateChanges(GamePlayer gp) {
+        int idx = whoAmI(gp);
+        return idx < 0 ? 0 : notifier[idx].getCoalesced();
+    }
+
+    /**
+     * Gets the number of notifications that were never sent to a player,
+     * because the executor they are sent on refused them (e.g., because
+     * it had been shut down).
+     *
+     * @param gp the player
+     * @return the number of notifications dropped for the player
+     */
+    public long getDroppedNotifications(GamePlayer gp) {
+        int idx = whoAmI(gp);
+        return idx < 0 ? 0 : notifier[idx].getDropped();
+    }
+
+    /**
+     * Gets the number of notifications to a player that failed, because
+     * the player threw an exception when it was notified.
+     *
+     * @param gp the player
+     * @return the number of failed notifications
+     */
+    public long getFailedNotifications(GamePlayer gp) {
+        int idx = whoAmI(gp);
+        return idx < 0 ? 0 : notifier[idx].getFailed();
+    }
+
+    /**
+     * Gets the exception thrown by a player the last time a notification
+     * to it failed.
+     *
+     * @param gp the player
+     * @return the exception, or null if no notification has failed
+     */
+    public RuntimeException getLastNotificationFailure(GamePlayer gp) {
+        int idx = whoAmI(gp);
+        return idx < 0 ? null : notifier[idx].getLastFailure();
     }
     
     protected final void performActionOnAll(PlayerActionInvoker pai) {
         
+        // a game that is being driven directly (e.g., by a simulator) has
+        // no players to notify
+        if (player == null) return;
+
         for (int i = 0; i < player.length; i++) {
             if (player[i] != null) {
-                Thread t = new Thread(new ParallelNotifier(player[i], pai));
-                t.start();
+                notifier[i].send(pai);
             }
         }
     }
+
+    /**
+     * Performs an action on one player, off the game's thread.  Actions
+     * on a player are performed in the order they were requested.
+     *
+     * @param gp  the player on which to invoke the action
+     * @param pai  the object representing the action to invoke
+     */
+    private void performAction(GamePlayer gp, PlayerActionInvoker pai) {
+        int idx = indexOf(gp);
+        if (idx >= 0) notifier[idx].send(pai);
+    }
     
     /**
      * A class that invokes the 'requestMove' action.
@@ -525,100 +851,3 @@ public abstract class GameImpl implements Game
          }
     }
 }
-
-
-        
-    
-    /**
-     * An inner class that helps invoke the 'stateChanged' method on
-     * a player, using a separate thread.
-     */
-    class ParallelNotifier implements Runnable {
-    
-        // the player to invoke the action on
-        private GamePlayer myPlayer;
-        
-        // the action to perform
-        private PlayerActionInvoker actionObject;
-        
-        /**
-         * Constructor for ParallelNotifier
-         * 
-         * @param player  the player to invoke the action on
-         * @param pai  the object representing the action to invoke
-         */
-        public ParallelNotifier(GamePlayer player, PlayerActionInvoker pai) {
-        
-            // invoke superclass constructor
-            super();
-            
-            // initialize instance variables
-            myPlayer = player;
-            actionObject = pai;
-        }
-    
-        /**
-         * The code that runs in the separate thread.
-         */
-        public void run() {
-            // invoke the appropriate method on the player
-            actionObject.invokeAction(myPlayer);
-        }
-    }   
-    
-/**
- * An abstract class specifies an action to perform.
- */
-abstract class PlayerActionInvoker { 
-    /**
-     * The action for this method
-     * 
-     * @param player  the player on which to invoke the action
-     */
-    public abstract void invokeAction(GamePlayer player);
-} 
-       
-/**
- * A class that invokes the 'stateChanged' action.
- */
-class StateChangedInvoker extends PlayerActionInvoker { 
-    /**
-     * The action for this method
-     * 
-     * @param player  the player on which to invoke the action
-     */
-    public void invokeAction(GamePlayer player) {
-        player.stateChanged();
-    }
-}
- 
-/**
- * A class that invokes the 'timeToQuit' action.
- */
-class TimeToQuitInvoker extends PlayerActionInvoker { 
-    /**
-     * The action for this method
-     * 
-     * @param player  the player on which to invoke the action
-     */
-    public void invokeAction(GamePlayer player) {
-        player.timeToQuit();
-    }
-}
-  
-/**
- * A class that invokes the 'gameIsOver' action.
- */
-class GameIsOverInvoker extends PlayerActionInvoker { 
-    /**
-     * The action for this method
-     * 
-     * @param player  the player on which to invoke the action
-     */
-    public void invokeAction(GamePlayer player) {
-        player.gameIsOver();
-    }
-}
-     
-
-    
\ No newline at end of file
@@ -0,0 +1,345 @@
+package game;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for GameImpl.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class GameImplTest {
+
+    // the game being tested, its players, and the thread it is played on
+    TestGame game = null;
+    TestPlayer[] players = null;
+    Thread thread = null;
+
+    // counted down when the game starts and finishes
+    CountDownLatch started = null;
+    CountDownLatch finished = null;
+
+    @Before
+    /**
+     * Create a two-player game whose players are ready, with a listener
+     * so that it does not end the program.
+     */
+    public void setUp() {
+        game = new TestGame();
+        players = new TestPlayer[] {new TestPlayer(), new TestPlayer()};
+        assertNull(game.setPlayers(players));
+        for (int i = 0; i < players.length; i++) players[i].setGame(game, i);
+        started = new CountDownLatch(1);
+        finished = new CountDownLatch(1);
+        game.setGameListener(new GameListener() {
+            public void gameStarted(Game g) {
+                started.countDown();
+            }
+            public void gameFinished(Game g) {
+                finished.countDown();
+            }
+        });
+        thread = new Thread(new Runnable() {
+            public void run() {
+                game.playGame();
+            }
+        });
+    }
+
+    @After
+    /**
+     * Stop the game, if it is still being played.
+     */
+    public void tearDown() throws InterruptedException {
+        thread.interrupt();
+        thread.join(5000);
+    }
+
+    @Test
+    /**
+     * A game whose thread is interrupted while it waits for a move still
+     * tells its listener and its players that it has finished.
+     */
+    public void testInterruptFinishesGame() throws InterruptedException {
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        thread.interrupt();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        for (TestPlayer p : players) {
+            assertTrue(p.events().contains("finishUp"));
+        }
+    }
+
+    @Test
+    /**
+     * A game whose players are not ready in time gives up without
+     * starting, and still tells its listener and players it has finished.
+     */
+    public void testReadyTimeout() throws InterruptedException {
+        players[1].ready = false;
+        game.setPlayerTimeouts(200, 0);
+        long start = System.currentTimeMillis();
+        thread.start();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        assertEquals(1, started.getCount());
+        assertTrue(players[0].events().contains("finishUp"));
+    }
+
+    @Test
+    /**
+     * A player that becomes ready wakes the game at once, rather than
+     * when the game next looks.
+     */
+    public void testReadyNoticeStartsGame() throws InterruptedException {
+        players[1].ready = false;
+        game.setPlayerTimeouts(60000, 0);
+        thread.start();
+        assertFalse(started.await(100, TimeUnit.MILLISECONDS));
+
+        players[1].ready = true;
+        game.applyAction(new GameReadyAction(players[1]));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    /**
+     * A player that becomes ready without saying so is still noticed,
+     * when the game looks again.
+     */
+    public void testUnannouncedReadyStartsGame() throws InterruptedException {
+        players[1].ready = false;
+        thread.start();
+        assertFalse(started.await(100, TimeUnit.MILLISECONDS));
+
+        players[1].ready = true;
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    /**
+     * A game whose players do not acknowledge quitting in time finishes
+     * without them.
+     */
+    public void testQuitAckTimeout() throws InterruptedException {
+        for (TestPlayer p : players) p.acknowledges = false;
+        game.setPlayerTimeouts(0, 200);
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        long start = System.currentTimeMillis();
+        game.applyAction(new GameQuitAction(players[0]));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        for (TestPlayer p : players) {
+            assertTrue(p.events().contains("timeToQuit"));
+            assertTrue(p.events().contains("finishUp"));
+        }
+    }
+
+    @Test
+    /**
+     * A game finishes as soon as every player acknowledges quitting.
+     */
+    public void testQuitAcknowledged() throws InterruptedException {
+        game.setPlayerTimeouts(0, 60000);
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        game.applyAction(new GameQuitAction(players[0]));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    /**
+     * An action the inbox has no room for is rejected, and the player that
+     * sent it is told its request is invalid.
+     */
+    public void testRejectedActionIsInvalid() {
+        for (int i = 0; i < GameActionInbox.DEFAULT_QUOTA; i++) {
+            game.applyAction(new GameMoveAction(players[0]) {});
+        }
+        assertFalse(players[0].events().contains("invalidRequest"));
+
+        game.applyAction(new GameMoveAction(players[0]) {});
+        assertEquals(1, game.getActionInbox().getRejected(players[0]));
+        assertTrue(players[0].events().contains("invalidRequest"));
+        assertFalse(players[1].events().contains("invalidRequest"));
+    }
+
+    @Test
+    /**
+     * State changes made while a player has one waiting are coalesced,
+     * and the player sees the latest version when it is told.
+     */
+    public void testStateChangesAreCoalesced() {
+        QueuedExecutor executor = new QueuedExecutor();
+        game.setNotifierExecutor(executor);
+        for (int i = 0; i < 5; i++) game.notifyAllStateChanged();
+
+        assertEquals(5, game.getStateVersion());
+        for (TestPlayer p : players) {
+            assertEquals(0, game.getDeliveredStateVersion(p));
+            assertEquals(4, game.getCoalescedStateChanges(p));
+        }
+
+        executor.runAll();
+        for (TestPlayer p : players) {
+            assertEquals(5, game.getDeliveredStateVersion(p));
+            assertEquals(1, p.events().size());
+            assertEquals("stateChanged", p.events().get(0));
+        }
+
+        // a change after the player has been told is sent on its own
+        game.notifyAllStateChanged();
+        executor.runAll();
+        assertEquals(6, game.getDeliveredStateVersion(players[0]));
+        assertEquals(4, game.getCoalescedStateChanges(players[0]));
+        assertEquals(2, players[0].events().size());
+    }
+
+    /**
+     * An executor that holds its tasks until told to run them.
+     */
+    static class QueuedExecutor implements Executor {
+
+        // the tasks not yet run
+        private Vector<Runnable> tasks = new Vector<Runnable>();
+
+        public void execute(Runnable r) {
+            tasks.add(r);
+        }
+
+        /**
+         * Runs the tasks given so far, and any they give in turn.
+         */
+        void runAll() {
+            while (!tasks.isEmpty()) tasks.remove(0).run();
+        }
+    }
+
+    /**
+     * A game that is never over, in which each move is legal and changes
+     * the state.
+     */
+    static class TestGame extends GameImpl {
+
+        // whether the players may move
+        volatile boolean movesAllowed = true;
+
+        protected void initializeGame() {
+        }
+
+        public boolean gameOver() {
+            return false;
+        }
+
+        protected boolean canMove(GamePlayer gp) {
+            return movesAllowed;
+        }
+
+        protected boolean canQuit(GamePlayer gp) {
+            return true;
+        }
+
+        protected GameState getGameState(GamePlayer p, int stateType) {
+            return null;
+        }
+
+        protected boolean makeMove(GamePlayer gp, GameMoveAction move) {
+            notifyAllStateChanged();
+            return true;
+        }
+
+        public boolean nullPlayersAllowed() {
+            return false;
+        }
+
+        public int minPlayersAllowed() {
+            return 1;
+        }
+
+        public int maxPlayersAllowed() {
+            return 2;
+        }
+    }
+
+    /**
+     * A player that records what it is told, in order.
+     */
+    static class TestPlayer implements GamePlayer {
+
+        // what the player has been told
+        private Vector<String> events = new Vector<String>();
+
+        // whether the player is ready, and whether it acknowledges quitting
+        volatile boolean ready = true;
+        volatile boolean acknowledges = true;
+
+        // the game being played, and the player's id in it
+        private Game game;
+        private int id;
+
+        /**
+         * Gets what the player has been told, in order.
+         *
+         * @return a copy of the events
+         */
+        Vector<String> events() {
+            return new Vector<String>(events);
+        }
+
+        public void setGame(Game game, int playerId) {
+            this.game = game;
+            id = playerId;
+        }
+
+        public void requestMove() {
+            events.add("requestMove");
+        }
+
+        public void notYourMove() {
+            events.add("notYourMove");
+        }
+
+        public void timeToQuit() {
+            events.add("timeToQuit");
+            if (acknowledges) game.applyAction(new GameQuitAcknowledgeAction(this));
+        }
+
+        public void invalidRequest() {
+            events.add("invalidRequest");
+        }
+
+        public void illegalMove() {
+            events.add("illegalMove");
+        }
+
+        public void gameIsOver() {
+            events.add("gameIsOver");
+        }
+
+        public void stateChanged() {
+            events.add("stateChanged");
+        }
+
+        public void finishUp() {
+            events.add("finishUp");
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public boolean isReady() {
+            return ready;
+        }
+    }
+}
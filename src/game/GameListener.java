@@ -0,0 +1,29 @@
+package game;
+
+/**
+ * An object that is told when a game starts and finishes, e.g., so that
+ * a server running many games in one program can keep track of them.  A
+ * game with a listener does not end the program when it finishes.
+ * 
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public interface GameListener {
+
+    /**
+     * Tells the listener that all of a game's players are ready and the
+     * game has started.  Called on the game's thread.
+     *
+     * @param game the game
+     */
+    public abstract void gameStarted(Game game);
+
+    /**
+     * Tells the listener that a game has finished: its players have been
+     * told to finish up, and the game will not use its thread again.
+     * Called on the game's thread.
+     *
+     * @param game the game
+     */
+    public abstract void gameFinished(Game game);
+}
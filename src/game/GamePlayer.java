@@ -84,7 +84,10 @@ public interface GamePlayer
     public abstract int getId();
 
     /**
-     * Tells whether the player is ready to play the game.
+     * Tells whether the player is ready to play the game.  A player that
+     * is not ready when the game starts, and becomes ready later, must
+     * then send the game a GameReadyAction; otherwise the game may not
+     * notice for up to a second.
      *
      * @return a boolean value indicating whether the player is ready
      *   to play.
@@ -0,0 +1,34 @@
+package game;
+
+/**
+ * A GameReadyAction is an action that is sent by a player to the game to
+ * tell it that the player has become ready to play (e.g., that a remote
+ * player has connected), so that the game need not keep asking.
+ * 
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class GameReadyAction extends GameAction {
+
+    /**
+     * constructor for GameReadyAction
+     *
+     * @param source the player who created the action
+     */
+    public GameReadyAction(GamePlayer p)
+    {
+        // invoke superclass constructor to initialize the source
+        super(p);
+    }
+
+    /**
+     * tells whether the action is a "ready" action
+     *
+     * @return true iff the action tells the game that the player has
+     *  become ready to play
+     */
+    public boolean isReadyNotice() {
+        // return "true" since this object is a "ready" action
+        return true;
+    }
+}
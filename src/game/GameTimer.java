@@ -1,5 +1,11 @@
 package game;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
 /**
  * A GameTimer is an object that sends a GameTimerAction to a Game at
  * regular intervals.  It can be used, for example, in games where players
@@ -14,29 +20,41 @@ package game;
  *   t.start();
  * </PRE>
  * then the Game will receive a GameTimerAction every 100 milliseconds, and
- * can perform whatever time-related operations it wishes to perform.
+ * can perform whatever time-related operations it wishes to perform.<P>
+ * 
+ * All timers share one scheduling thread, so a program running thousands
+ * of games does not need a thread for each of their timers.
  * 
  * @author Steven R. Vegdahl
  * @version 24 July 2002
  */
 public class GameTimer
 {
+    // the one thread on which every timer's ticks are scheduled
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "game-timer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
     // the game to send actions to
     private Game game;
     
     // the number of ticks since timer was created (or last reset)
-    private int ticks;
+    private volatile int ticks;
     
     // the interval, in milliseconds, between timer events
     private int interval;
     
-    // the thread that is running, which causes the "ticks" to occur.  If
-    // this variable is null, it means that the timer is stopped
-    private Thread thread;
+    // the scheduled ticks.  If this variable is null, it means that the
+    // timer is stopped
+    private ScheduledFuture<?> future;
     
-    // this object, set here so that the (inner-class) Timer object can
-    // refer to it from its code
-    private GameTimer self;
+    // the action sent to the game on each tick
+    private GameTimerAction action;
     
     /**
      * Constructor for objects of class GameTimer
@@ -48,10 +66,10 @@ public class GameTimer
     public GameTimer(Game g, int interval)
     {
         this.game = g; // initialize game
-        this.interval = Math.max(0,interval); // set interval
+        this.interval = Math.max(1,interval); // set interval
         ticks = 0; // start #ticks at zero
-        thread = null; // indicates thread not running   
-        self = this; // set 'this' for inner class 
+        future = null; // indicates timer not running   
+        action = new GameTimerAction(this); // the action sent on each tick
     }
 
     /**
@@ -59,26 +77,39 @@ public class GameTimer
      * 
      */
     public void start() {
-        // synchronize to ensure null test and thread-start are "atomic"
+        // synchronize to ensure null test and scheduling are "atomic"
         synchronized(this) {
-            if (thread == null) {
-                // if thread is not null create new timer object/thread
-                // and start it
-                Timer timer = new Timer();
-                thread = new Thread(timer);
-                thread.start();
+            if (future == null) {
+                // if not running, schedule a tick every interval
+                future = SCHEDULER.scheduleAtFixedRate(new Runnable() {
+                    public void run() {
+                        tick();
+                    }
+                }, interval, interval, TimeUnit.MILLISECONDS);
             }
         }
     }
 
     /**
-     * Stops the timer.
+     * Stops the timer.  Has no effect if the timer is already stopped.
      * 
      */
     public void stop() {
-        // set the 'thread' instance-variable to null.  The next time the
-        // thread tests this variable, it will terminate.
-        thread = null;
+        synchronized(this) {
+            if (future != null) {
+                future.cancel(false);
+                future = null;
+            }
+        }
+    }
+
+    /**
+     * Tells whether the timer is running.
+     *
+     * @return true iff the timer has been started and not stopped
+     */
+    public synchronized boolean isRunning() {
+        return future != null;
     }
     
     /**
@@ -102,37 +133,10 @@ public class GameTimer
     }
 
     /**
-     * Timer: A private inner-class that runs the timer-thread.
+     * Sends one tick to the game.  Runs on the shared timer thread.
      */
-    private class Timer implements Runnable {
-    
-        /**
-         * Timer constructor
-         */
-        public Timer() {
-        }
-        
-        /**
-         * The code that runs in the separate thread.
-         */
-        public void run() {
-
-            // create a timer action which will be repeatedly sent to the game
-            GameTimerAction action = new GameTimerAction(self);
-            
-            // as long as we've not been marked as "stopped", apply the
-            // timer action to the games at the appropriate time-intervals
-            //
-            while (thread != null)
-                try {
-                    Thread.sleep(interval); // wait for approriate interval
-                    ticks++; // increment # ticks
-                    game.applyAction(action); // apply action to game
-                }
-                catch (InterruptedException ix) {
-                    // this should never happen, but if it does, loop back
-                }
-            }
-        }
+    private void tick() {
+        ticks++; // increment # ticks
+        game.applyAction(action); // apply action to game
     }
-
+}
@@ -0,0 +1,16 @@
+package game;
+
+/**
+ * An abstract class specifies an action to perform.
+ *
+ * @author Steven R. Vegdahl
+ * @version 18 July 2002
+ */
+abstract class PlayerActionInvoker {
+    /**
+     * The action for this method
+     *
+     * @param player  the player on which to invoke the action
+     */
+    public abstract void invokeAction(GamePlayer player);
+}
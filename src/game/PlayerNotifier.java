@@ -0,0 +1,243 @@
+package game;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers a game's notifications (state changes, move requests, etc.) to
+ * one player, off the game's thread.  Notifications are run on a shared
+ * executor rather than a thread of their own, but never more than one at
+ * a time for a player, and always in the order they were sent, so a
+ * player cannot see an older state after a newer one.
+ * <P>
+ * State changes are coalesced.  A player fetches the game's latest state
+ * when told it has changed, so while one state change is waiting to be
+ * delivered, further ones are dropped: a burst of changes costs the
+ * player a single fetch.
+ * <P>
+ * If the executor refuses the notifier (e.g., because it has been shut
+ * down), the notifications waiting are dropped and counted: nothing is
+ * left to deliver them.  A notification that throws is counted as failed,
+ * and does not stop the ones after it.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+class PlayerNotifier implements Runnable {
+
+    // the player to notify
+    private GamePlayer player;
+
+    // the executor the notifications are run on
+    private volatile Executor executor;
+
+    // the notifications not yet delivered
+    private ConcurrentLinkedQueue<PlayerActionInvoker> pending;
+
+    // whether we have been given to the executor to deliver them
+    private AtomicBoolean scheduled;
+
+    // whether a state change is waiting to be delivered
+    private AtomicBoolean dirty;
+
+    // the version of the latest state change sent, and of the latest
+    // one delivered
+    private AtomicLong sentVersion;
+    private volatile long deliveredVersion;
+
+    // the number of state changes dropped because one was already waiting
+    private AtomicLong coalesced;
+
+    // the number of notifications dropped because the executor refused them
+    private AtomicLong dropped;
+
+    // the number of notifications that threw, and the latest thing thrown
+    private AtomicLong failed;
+    private volatile RuntimeException lastFailure;
+
+    /**
+     * Constructor for PlayerNotifier
+     *
+     * @param player  the player to notify
+     * @param executor  the executor to run the notifications on
+     */
+    public PlayerNotifier(GamePlayer player, Executor executor) {
+        this.player = player;
+        this.executor = executor;
+        pending = new ConcurrentLinkedQueue<PlayerActionInvoker>();
+        scheduled = new AtomicBoolean(false);
+        dirty = new AtomicBoolean(false);
+        sentVersion = new AtomicLong(0);
+        deliveredVersion = 0;
+        coalesced = new AtomicLong(0);
+        dropped = new AtomicLong(0);
+        failed = new AtomicLong(0);
+        lastFailure = null;
+    }
+
+    /**
+     * Changes the executor that later notifications are run on.
+     *
+     * @param executor  the executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sends a notification to the player.
+     *
+     * @param pai  the object representing the action to invoke
+     */
+    public void send(PlayerActionInvoker pai) {
+        pending.add(pai);
+        schedule();
+    }
+
+    /**
+     * Tells the player that the state has changed, unless it has already
+     * been told and has not yet looked.
+     *
+     * @param version  the game's state version after the change
+     */
+    public void sendStateChanged(long version) {
+        // remember the newest version, even if the change is coalesced
+        for (long v = sentVersion.get(); version > v; v = sentVersion.get()) {
+            if (sentVersion.compareAndSet(v, version)) break;
+        }
+
+        if (dirty.compareAndSet(false, true)) {
+            send(new CoalescedStateChange());
+        }
+        else {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the version of the latest state change delivered to the player.
+     *
+     * @return the version, or 0 if none has been delivered
+     */
+    public long getDeliveredVersion() {
+        return deliveredVersion;
+    }
+
+    /**
+     * Gets the number of state changes not delivered separately, because
+     * one was already waiting.
+     *
+     * @return the number of state changes coalesced
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Gets the number of notifications dropped because the executor
+     * refused them.
+     *
+     * @return the number of notifications dropped
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of notifications that threw an exception.
+     *
+     * @return the number of notifications that failed
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Gets the exception thrown by the latest notification that failed.
+     *
+     * @return the exception, or null if no notification has failed
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Gives this notifier to the executor, unless it already has it.  If
+     * the executor refuses it, drops the pending notifications, so that
+     * the notifier is not left waiting for a run that will never come.
+     */
+    private void schedule() {
+        while (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+                return;
+            }
+            catch (RejectedExecutionException rx) {
+                drop();
+
+                // let a later notification try again; if one arrived while
+                // we were dropping, it must be dropped (or delivered) too
+                scheduled.set(false);
+                if (pending.isEmpty()) return;
+            }
+        }
+    }
+
+    /**
+     * Drops the pending notifications, counting them.
+     */
+    private void drop() {
+        while (pending.poll() != null) {
+            dropped.incrementAndGet();
+        }
+
+        // a dropped state change no longer stands for the ones after it
+        dirty.set(false);
+    }
+
+    /**
+     * Delivers the pending notifications, in order.  Runs on the executor.
+     */
+    public void run() {
+        PlayerActionInvoker pai;
+        while ((pai = pending.poll()) != null) {
+            try {
+                pai.invokeAction(player);
+            }
+            catch (RuntimeException rx) {
+                // one failed notification must not stop the others; count
+                // it, so the game can report it
+                lastFailure = rx;
+                failed.incrementAndGet();
+            }
+        }
+
+        // let the next notification schedule us again; if one arrived
+        // after we looked, schedule ourselves for it
+        scheduled.set(false);
+        if (!pending.isEmpty()) schedule();
+    }
+
+    /**
+     * A state change that stands for all the changes sent before it is
+     * delivered.
+     */
+    private class CoalescedStateChange extends StateChangedInvoker {
+
+        /**
+         * The action for this method
+         *
+         * @param player  the player on which to invoke the action
+         */
+        public void invokeAction(GamePlayer player) {
+            // any change from here on needs a new notification, as the
+            // player may fetch the state before it happens
+            dirty.set(false);
+            deliveredVersion = sentVersion.get();
+            super.invokeAction(player);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package game;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for PlayerNotifier.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PlayerNotifierTest {
+
+    // an executor that runs each task on the thread that gives it
+    static final Executor DIRECT = new Executor() {
+        public void execute(Runnable r) {
+            r.run();
+        }
+    };
+
+    // a pool of threads to notify on
+    ExecutorService pool = null;
+
+    // the player being notified
+    GameImplTest.TestPlayer player = null;
+
+    @Before
+    /**
+     * Create a pool and a player.
+     */
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        player = new GameImplTest.TestPlayer();
+    }
+
+    @After
+    /**
+     * Stop the pool.
+     */
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    /**
+     * Notifications sent from several threads reach the player one at a
+     * time, and those sent from one thread arrive in the order they were
+     * sent.
+     */
+    public void testDeliveryOrder() throws InterruptedException {
+        final PlayerNotifier notifier = new PlayerNotifier(player, pool);
+        final Vector<String> delivered = new Vector<String>();
+        final int[] running = new int[1];
+        final boolean[] overlapped = new boolean[1];
+        final CountDownLatch done = new CountDownLatch(2);
+
+        for (int t = 0; t < 2; t++) {
+            final String name = "t" + t + ":";
+            new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        final String event = name + i;
+                        notifier.send(new PlayerActionInvoker() {
+                            public void invokeAction(GamePlayer p) {
+                                synchronized(running) {
+                                    overlapped[0] |= running[0]++ > 0;
+                                }
+                                delivered.add(event);
+                                synchronized(running) {
+                                    running[0]--;
+                                }
+                            }
+                        });
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < 1000 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1000, delivered.size());
+        assertFalse(overlapped[0]);
+        int[] next = new int[2];
+        for (String event : delivered) {
+            int t = event.charAt(1) - '0';
+            assertEquals("t" + t + ":" + next[t]++, event);
+        }
+    }
+
+    @Test
+    /**
+     * Only one state change waits for the player at a time; the rest are
+     * counted as coalesced, and the one delivered stands for the latest.
+     */
+    public void testStateChangesAreCoalesced() {
+        GameImplTest.QueuedExecutor executor = new GameImplTest.QueuedExecutor();
+        PlayerNotifier notifier = new PlayerNotifier(player, executor);
+        for (long v = 1; v <= 3; v++) notifier.sendStateChanged(v);
+        notifier.send(new GameIsOverInvoker());
+        notifier.sendStateChanged(4);
+        assertEquals(3, notifier.getCoalesced());
+
+        executor.runAll();
+        assertEquals(4, notifier.getDeliveredVersion());
+        assertEquals(2, player.events().size());
+        assertEquals("stateChanged", player.events().get(0));
+        assertEquals("gameIsOver", player.events().get(1));
+    }
+
+    @Test
+    /**
+     * A notification that throws is counted, and the ones after it are
+     * still delivered.
+     */
+    public void testFailedNotificationIsCounted() {
+        PlayerNotifier notifier = new PlayerNotifier(player, DIRECT);
+        final RuntimeException oops = new IllegalStateException("oops");
+        notifier.send(new PlayerActionInvoker() {
+            public void invokeAction(GamePlayer p) {
+                throw oops;
+            }
+        });
+        notifier.send(new StateChangedInvoker());
+        assertEquals(1, notifier.getFailed());
+        assertSame(oops, notifier.getLastFailure());
+        assertEquals(1, player.events().size());
+    }
+
+    @Test
+    /**
+     * When the executor refuses the notifier, the waiting notifications
+     * are dropped and counted, and later ones are delivered once there is
+     * an executor that takes them.
+     */
+    public void testRejectedNotificationsAreDropped() {
+        pool.shutdown();
+        PlayerNotifier notifier = new PlayerNotifier(player, pool);
+        notifier.send(new StateChangedInvoker());
+        notifier.sendStateChanged(1);
+        assertEquals(2, notifier.getDropped());
+        assertTrue(player.events().isEmpty());
+
+        notifier.setExecutor(DIRECT);
+        notifier.sendStateChanged(2);
+        assertEquals(2, notifier.getDropped());
+        assertEquals(1, player.events().size());
+        assertEquals(2, notifier.getDeliveredVersion());
+    }
+}
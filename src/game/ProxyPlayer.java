@@ -14,25 +14,18 @@ public abstract class ProxyPlayer extends ProxyObject
 {
     
     // the game object
-    private Game game;
+    private volatile Game game;
     
     // tells whether it is time to quit
     private boolean quittingTime;
     
-    // The thread object that requests a move across the network.  This
-    // allows the move-request operation to occur in parallel with other
-    // operations.  If this variable is non-null, it means that there is
-    // a pending 'requestMove' operation in progress, and so another one
-    // should not be started.
-    private Thread requestMoveThread;
-    
     // this player's ID, from the game's viewpoint
     private int playerId;
     
     // whether this player is ready to play the game.  In this case, being
     // ready essentially means that the a connection with a remote player
     // has been established
-    private boolean isReady;
+    private volatile boolean isReady;
 
     /**
      * Transforms a GameState object into a string so that it may be
@@ -65,7 +58,6 @@ public abstract class ProxyPlayer extends ProxyObject
         
         // set instance variables to their initial values
         game = null;
-        requestMoveThread = null;
         quittingTime = false;
         isReady = false;
         playerId = -1;
@@ -88,6 +80,7 @@ public abstract class ProxyPlayer extends ProxyObject
         // the game; otherwise abort
         if (this.isComplete()) {
             isReady = true;
+            announceReady();
         }
         else {
             return;
@@ -194,6 +187,17 @@ public abstract class ProxyPlayer extends ProxyObject
         
         // also apply the operation to the "real" player across the network
         sendGenericMessage("setGame "+playerId);
+
+        // in case we connected before we knew the game
+        if (isReady) announceReady();
+    }
+
+    /**
+     * Tells the game, if we know it yet, that we are ready to play.
+     */
+    private void announceReady() {
+        Game g = game;
+        if (g != null) g.applyAction(new GameReadyAction(this));
     }
 
     /**
@@ -201,13 +205,9 @@ public abstract class ProxyPlayer extends ProxyObject
      * make a move.
      */
     public void requestMove() {
-        // if there is not already a move-request in progress for this
-        // player, start up a thread to request a move from the "real"
-        // player across the network
-        if (requestMoveThread == null) {
-            requestMoveThread = new Thread(new MoveRequester());
-            requestMoveThread.start();
-        }
+        // request a move from the "real" player across the network.  The
+        // game only asks when its state changes, so every request is sent.
+        sendGenericMessage("requestMove");
     }
 
     /**
@@ -336,34 +336,5 @@ public abstract class ProxyPlayer extends ProxyObject
         // return value based on whether we are marked as being ready
         return isReady;
     }
-    
-    /**
-     * An inner class that helps invoke the 'requestMove' method on
-     * a remote player using a separate thread.
-     */
-    private class MoveRequester implements Runnable {
-    
-        /**
-         * The code that runs in the separate thread.
-         */
-        public void run() {
-            try {
-            
-                // send the message
-                sendGenericMessage("requestMove");
-                
-                // wait one second so that we are not constantly bombarding
-                // the network with messages
-                Thread.sleep(1000);
-                
-            }
-            catch (InterruptedException ix) {
-            } 
-            
-            // clear the instance variable, allowing a subsequent
-            // 'requestMove' operation to be performed
-            requestMoveThread = null;
-        } 
-    }
 
 }
@@ -0,0 +1,18 @@
+package game;
+
+/**
+ * A class that invokes the 'timeToQuit' action.
+ *
+ * @author Steven R. Vegdahl
+ * @version 18 July 2002
+ */
+class TimeToQuitInvoker extends PlayerActionInvoker {
+    /**
+     * The action for this method
+     *
+     * @param player  the player on which to invoke the action
+     */
+    public void invokeAction(GamePlayer player) {
+        player.timeToQuit();
+    }
+}
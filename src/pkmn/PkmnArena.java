@@ -0,0 +1,408 @@
+package pkmn;
+
+import ai.CommonAI;
+
+/**
+ * Plays many one-on-one battles at once, for balance runs.  Instead of a
+ * PkmnGameImpl per battle, the arena keeps every battle in parallel arrays
+ * (HP, PP, species, flags, random generator states, etc.), and step()
+ * plays one turn of all of them in one loop over those arrays.
+ *
+ * Battles play out exactly as the simulator plays them through
+ * PkmnGameImpl: the same turn order, hit, roll and critical hit draws,
+ * damage (from PkmnDamageTable, which is built from
+ * PkmnGameImpl.typeEffectiveness) and healing, and the same choice of
+ * moves by a CommonAI.  So a battle with a given seed has the same winner
+ * and length in the arena as in PkmnSimulator.playBattle.
+ *
+ * Each battle's base damage and type modifiers never change, so they are
+ * looked up once when the battle is added; a turn is then only integer
+ * arithmetic on the arrays.  Each side has a team of one Pokemon, as in
+ * the simulator.  An arena is not thread-safe; use one per thread.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnArena
+{
+	//the number of moves in a moveset
+	private static final int MOVES = PkmnDamageTable.MOVES;
+
+	//the most battles the arena holds, and how many it has
+	private int capacity;
+	private int size;
+
+	//by battle and player (index 2*battle + player):
+	//the species (ordinal), HP, maximum HP, and whether the Pokemon is Flying-type
+	private int[] species;
+	private int[] hp;
+	private int[] maxHP;
+	private boolean[] flying;
+	//whether the player's last attack missed
+	private boolean[] missed;
+	//the moveset slot the player's AI prefers, or -1 if it has none
+	private int[] preferred;
+
+	//by battle, player and moveset slot (index 8*battle + 4*player + slot):
+	//the PP left, the base damage and type modifier against the opponent,
+	//and the move's op code, accuracy and chance of a critical hit (in 1000ths)
+	private int[] pp;
+	private int[] base;
+	private int[] typeMod;
+	private int[] opCode;
+	private int[] accuracy;
+	private int[] critChance;
+	//the slot whose PP a move uses: the first slot with the same move
+	private int[] slotOf;
+
+	//by battle: the player who moves first, the state of the random
+	//generator, the winner (-1 for none), the turns played, and whether
+	//the battle is over
+	private int[] first;
+	private long[] random;
+	private int[] winner;
+	private int[] turns;
+	private boolean[] finished;
+
+	//the battles still being played, in the first 'running' places
+	private int[] live;
+	private int running;
+
+	/**
+	 * Constructor for PkmnArena
+	 *
+	 * @param capacity the most battles the arena can hold
+	 */
+	public PkmnArena(int capacity)
+	{
+		this.capacity = capacity;
+		size = 0;
+
+		species = new int[2*capacity];
+		hp = new int[2*capacity];
+		maxHP = new int[2*capacity];
+		flying = new boolean[2*capacity];
+		missed = new boolean[2*capacity];
+		preferred = new int[2*capacity];
+
+		pp = new int[2*MOVES*capacity];
+		base = new int[2*MOVES*capacity];
+		typeMod = new int[2*MOVES*capacity];
+		opCode = new int[2*MOVES*capacity];
+		accuracy = new int[2*MOVES*capacity];
+		critChance = new int[2*MOVES*capacity];
+		slotOf = new int[2*MOVES*capacity];
+
+		first = new int[capacity];
+		random = new long[capacity];
+		winner = new int[capacity];
+		turns = new int[capacity];
+		finished = new boolean[capacity];
+
+		live = new int[capacity];
+		running = 0;
+	}
+
+	/**
+	 * Adds a battle, in which each player's moves are chosen by a CommonAI.
+	 *
+	 * @param pokemon0 the Pokemon for player 0
+	 * @param pokemon1 the Pokemon for player 1
+	 * @param seed the seed for the battle's random decisions
+	 * @return the number of the battle
+	 * @throws IllegalStateException if the arena is full
+	 */
+	public int add(PkmnPokemon pokemon0, PkmnPokemon pokemon1, long seed)
+	{
+		if (size == capacity) throw new IllegalStateException("the arena holds " + capacity + " battles");
+		int b = size++;
+		PkmnPokemon[] pokemon = {pokemon0, pokemon1};
+
+		for (int player = 0; player < 2; player++)
+		{
+			PkmnPokemon attacker = pokemon[player];
+			PkmnPokemon defender = pokemon[1-player];
+			int a = 2*b + player;
+			species[a] = attacker.ordinal();
+			hp[a] = attacker.hp;
+			maxHP[a] = attacker.hp;
+			flying[a] = attacker.getType1().equals(PkmnType.FLYING)
+				|| attacker.getType2().equals(PkmnType.FLYING);
+			missed[a] = false;
+
+			//the AI's choice depends only on the two Pokemon, so is made once
+			PkmnMove choice = new CommonAI().chooseMove(attacker, defender, attacker.hp);
+			preferred[a] = PkmnDamageTable.moveIndex(attacker, choice);
+
+			for (int m = 0; m < MOVES; m++)
+			{
+				PkmnMove move = attacker.moveset[m];
+				int k = MOVES*a + m;
+				pp[k] = move.getPP();
+				base[k] = PkmnDamageTable.getBaseDamageFixed(attacker, defender, m);
+				typeMod[k] = PkmnDamageTable.getTypeModifierFixed(attacker, defender, m);
+				opCode[k] = move.getOpCode();
+				accuracy[k] = move.getAccuracy();
+				critChance[k] = (move.getOpCode() == 4) ? 125 : 63;
+				slotOf[k] = PkmnDamageTable.moveIndex(attacker, move);
+			}
+		}
+
+		first[b] = (pokemon0.spe < pokemon1.spe) ? 1 : 0;
+		random[b] = seed;
+		winner[b] = -1;
+		turns[b] = 0;
+		finished[b] = false;
+		live[running++] = b;
+		return b;
+	}
+
+	/**
+	 * Plays one turn of every battle still being played.
+	 *
+	 * @return the number of battles still being played
+	 */
+	public int step()
+	{
+		for (int i = 0; i < running; i++)
+		{
+			int b = live[i];
+			if (playTurn(b)) continue;
+
+			//the battle is over; put the last running battle in its place
+			finished[b] = true;
+			live[i--] = live[--running];
+		}
+		return running;
+	}
+
+	/**
+	 * Plays every battle to the end.
+	 */
+	public void run()
+	{
+		while (step() > 0);
+	}
+
+	/**
+	 * Plays one turn of a battle.
+	 *
+	 * @param b the battle
+	 * @return true if the battle goes on; false if it is over
+	 */
+	private boolean playTurn(int b)
+	{
+		//a Pokemon that has no PP left can never move again
+		int move0 = chooseMove(2*b);
+		int move1 = chooseMove(2*b + 1);
+		if (move0 < 0 || move1 < 0) return false;
+
+		int p = first[b];
+		attack(b, p, (p == 0) ? move0 : move1);
+		if (winner[b] < 0) attack(b, 1-p, (p == 0) ? move1 : move0);
+		turns[b]++;
+
+		//a battle that reaches the last turn is a draw, however it ended
+		if (turns[b] >= PkmnSimulator.MAX_TURNS)
+		{
+			winner[b] = -1;
+			return false;
+		}
+		return winner[b] < 0;
+	}
+
+	/**
+	 * Chooses a move for a player: the AI's choice if it still has PP,
+	 * otherwise the first move that does.
+	 *
+	 * @param a the battle and player (2*battle + player)
+	 * @return the slot whose PP the move uses, or -1 if no move has PP left
+	 */
+	private int chooseMove(int a)
+	{
+		int k = MOVES*a;
+		int choice = preferred[a];
+		if (choice >= 0 && pp[k + choice] > 0) return choice;
+		for (int m = 0; m < MOVES; m++)
+		{
+			int s = slotOf[k + m];
+			if (pp[k + s] > 0) return s;
+		}
+		return -1;
+	}
+
+	/**
+	 * Performs an attack, in the same way as PkmnGameImpl.attack, and
+	 * checks for a winner.
+	 *
+	 * @param b the battle
+	 * @param player the attacking player
+	 * @param slot the slot of the move in the attacker's moveset
+	 */
+	private void attack(int b, int player, int slot)
+	{
+		int a = 2*b + player;
+		int d = 2*b + 1 - player;
+		int k = MOVES*a + slot;
+
+		switch (opCode[k])
+		{
+		case 0:
+		case 4:
+			if (PkmnRandom.nextInt(random, b, 100) < accuracy[k])
+			{
+				hp[d] = Math.max(0, hp[d] - damage(b, k));
+				pp[k]--;
+				missed[a] = false;
+			}
+			else missed[a] = true;
+			break;
+		case 1:
+			hp[a] = Math.min(maxHP[a], hp[a] + maxHP[a]/2);
+			pp[k]--;
+			missed[a] = false;
+			break;
+		case 2:
+			if (flying[a])
+			{
+				hp[a] = Math.min(maxHP[a], hp[a] + maxHP[a]/2);
+				pp[k]--;
+			}
+			missed[a] = false;
+			break;
+		case 3:
+			if (PkmnRandom.nextInt(random, b, 100) < accuracy[k])
+			{
+				int damage = damage(b, k);
+				//the attacker heals from the defender's HP before the hit,
+				//as PkmnGameImpl.healMove3 does
+				int prevHP = hp[d];
+				hp[d] = Math.max(0, prevHP - damage);
+				hp[a] = Math.min(maxHP[a], prevHP + damage/2);
+				pp[k]--;
+				missed[a] = false;
+			}
+			else missed[a] = true;
+			break;
+		}
+
+		//with a team of one, a player wins when only their Pokemon has HP
+		boolean alive0 = hp[2*b] > 0;
+		boolean alive1 = hp[2*b + 1] > 0;
+		if (alive0 != alive1) winner[b] = alive0 ? 0 : 1;
+	}
+
+	/**
+	 * Rolls the damage of a hit, in the same way as PkmnGameImpl.calcDamage:
+	 * the random roll, then the critical hit.
+	 *
+	 * @param b the battle
+	 * @param k the attacker's move (8*battle + 4*player + slot)
+	 * @return the damage
+	 */
+	private int damage(int b, int k)
+	{
+		int roll = PkmnDamageTable.ROLL_MIN
+			+ PkmnRandom.nextInt(random, b, PkmnDamageTable.ROLL_MAX - PkmnDamageTable.ROLL_MIN + 1);
+		int crit = (PkmnRandom.nextInt(random, b, 1000) < critChance[k]) ? 2 : 1;
+		return PkmnDamageTable.damage(base[k], typeMod[k], crit, roll);
+	}
+
+	/**
+	 * Adds every finished battle to a result.
+	 *
+	 * @param result the result
+	 */
+	public void tally(PkmnSimulationResult result)
+	{
+		for (int b = 0; b < size; b++)
+		{
+			if (isFinished(b)) result.addBattle(winner[b], turns[b]);
+		}
+	}
+
+	/**
+	 * Get how many battles the arena holds.
+	 *
+	 * @return size
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Get the most battles the arena can hold.
+	 *
+	 * @return capacity
+	 */
+	public int capacity() { return capacity; }
+
+	/**
+	 * Get how many battles are still being played.
+	 *
+	 * @return the number of running battles
+	 */
+	public int getRunning() { return running; }
+
+	/**
+	 * Tells whether a battle is over.
+	 *
+	 * @param b the battle
+	 * @return true if the battle is over
+	 */
+	public boolean isFinished(int b) { return finished[b]; }
+
+	/**
+	 * Get the winner of a battle.
+	 *
+	 * @param b the battle
+	 * @return the id of the winning player, or -1 if there is none (yet)
+	 */
+	public int getWinner(int b) { return winner[b]; }
+
+	/**
+	 * Get how many turns of a battle have been played.
+	 *
+	 * @param b the battle
+	 * @return the number of turns
+	 */
+	public int getTurns(int b) { return turns[b]; }
+
+	/**
+	 * Get the Pokemon of a player.
+	 *
+	 * @param b the battle
+	 * @param player the 0/1 id of the player
+	 * @return the Pokemon
+	 */
+	public PkmnPokemon getPokemon(int b, int player)
+	{
+		return PkmnPokemon.values()[species[2*b + player]];
+	}
+
+	/**
+	 * Get the HP of a player's Pokemon.
+	 *
+	 * @param b the battle
+	 * @param player the 0/1 id of the player
+	 * @return the HP
+	 */
+	public int getHP(int b, int player) { return hp[2*b + player]; }
+
+	/**
+	 * Get the PP left of one of a player's moves.
+	 *
+	 * @param b the battle
+	 * @param player the 0/1 id of the player
+	 * @param slot the index of the move in the Pokemon's moveset
+	 * @return the PP
+	 */
+	public int getPP(int b, int player, int slot) { return pp[MOVES*(2*b + player) + slot]; }
+
+	/**
+	 * Get whether a player's last attack missed.
+	 *
+	 * @param b the battle
+	 * @param player the 0/1 id of the player
+	 * @return true if it missed
+	 */
+	public boolean getMissedAttack(int b, int player) { return missed[2*b + player]; }
+}
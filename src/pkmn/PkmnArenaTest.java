@@ -0,0 +1,90 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ai.CommonAI;
+
+/**
+ * Test class for PkmnArena.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnArenaTest
+{
+	@Test
+	/**
+	 * Every pairing plays out in the arena exactly as it does in a game.
+	 */
+	public void testSameAsGame()
+	{
+		PkmnPokemon[] all = PkmnPokemon.values();
+		PkmnSimulator sim = new PkmnSimulator();
+		PkmnArena arena = new PkmnArena(all.length * all.length);
+		for (PkmnPokemon pokemon0 : all)
+		{
+			for (PkmnPokemon pokemon1 : all)
+			{
+				arena.add(pokemon0, pokemon1, pokemon0.ordinal() * 1000L + pokemon1.ordinal());
+			}
+		}
+		arena.run();
+
+		for (int b = 0; b < arena.size(); b++)
+		{
+			PkmnPokemon pokemon0 = arena.getPokemon(b, 0);
+			PkmnPokemon pokemon1 = arena.getPokemon(b, 1);
+			PkmnSimulationResult result = new PkmnSimulationResult(pokemon0, pokemon1);
+			int winner = sim.playBattle(pokemon0, pokemon1, new CommonAI(), new CommonAI(),
+					pokemon0.ordinal() * 1000L + pokemon1.ordinal(), result);
+			assertEquals(pokemon0 + ":" + pokemon1, winner, arena.getWinner(b));
+			assertEquals(pokemon0 + ":" + pokemon1, result.getTotalTurns(), arena.getTurns(b));
+		}
+	}
+
+	@Test
+	/**
+	 * Each step plays a turn of every running battle, and finished battles
+	 * stop being played.
+	 */
+	public void testStep()
+	{
+		PkmnArena arena = new PkmnArena(100);
+		for (int i = 0; i < 100; i++) arena.add(PkmnPokemon.Charizard, PkmnPokemon.Blastoise, i);
+		assertEquals(100, arena.getRunning());
+
+		int steps = 0;
+		for (int running = 100; running > 0; steps++)
+		{
+			int next = arena.step();
+			assertTrue(next <= running);
+			running = next;
+		}
+		for (int b = 0; b < 100; b++)
+		{
+			assertTrue(arena.isFinished(b));
+			assertTrue(arena.getTurns(b) <= steps);
+			if (arena.getWinner(b) >= 0) assertEquals(0, arena.getHP(b, 1 - arena.getWinner(b)));
+		}
+
+		PkmnSimulationResult result = new PkmnSimulationResult(PkmnPokemon.Charizard, PkmnPokemon.Blastoise);
+		arena.tally(result);
+		assertEquals(100, result.getBattles());
+	}
+
+	@Test
+	/**
+	 * The simulator gives the same tally with and without arenas.
+	 */
+	public void testSimulatorArena()
+	{
+		PkmnSimulator sim = new PkmnSimulator();
+		PkmnSimulationResult games = sim.simulate(PkmnPokemon.Mewtwo, PkmnPokemon.Mew, 300, 7L, 1);
+		sim.setArena(true);
+		PkmnSimulationResult arenas = sim.simulate(PkmnPokemon.Mewtwo, PkmnPokemon.Mew, 300, 7L, 2);
+		assertEquals(games.getWins(0), arenas.getWins(0));
+		assertEquals(games.getWins(1), arenas.getWins(1));
+		assertEquals(games.getTotalTurns(), arenas.getTotalTurns());
+	}
+}
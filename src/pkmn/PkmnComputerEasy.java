@@ -14,22 +14,23 @@ public class PkmnComputerEasy extends PkmnComputerPlayer
 	{
 		/*
 		 * Make sure the computer doesn't attempt to move before the human
-		 * player has finished choosing his/her Pokemon.
+		 * player has finished choosing his/her Pokemon.  The game asks
+		 * again once the last Pokemon has been chosen.
 		 */
-		while(st.isPkmnSelect()) 
-			{ try { sleep(1000); }finally{} }
+		st = (PkmnState)game.getState(this, 0);
+		if (st.isPkmnSelect()) return;
 		
 		deffPokemon = st.getPokemon(opponent, 0);
 		PkmnMove selectedMove = currPokemon.getMoveSet()[(int)(Math.random()*4)];
 		
 		if (st.getCurrMovePP(getId(), selectedMove) == 0)
 		{
-			game.applyAction(new PkmnAttackMoveAction(thisPlayer, 
+			sendMove(new PkmnAttackMoveAction(thisPlayer, 
 													currPokemon.moveset[(int)(Math.random()*4)]));
 		}
 		else
 		{
-			game.applyAction(new PkmnAttackMoveAction(thisPlayer, selectedMove));
+			sendMove(new PkmnAttackMoveAction(thisPlayer, selectedMove));
 		}
 		
 	}//doRequestMove
@@ -0,0 +1,240 @@
+package pkmn;
+
+import java.util.*;
+
+/**
+ * The exact probability distribution of the damage one use of a move does,
+ * as calculated by PkmnGameImpl: whether the move hits (its accuracy),
+ * whether it is a critical hit (6.3%, or 12.5% for moves with a high
+ * critical-hit chance), and the random roll, a whole percentage from 85
+ * to 100.
+ *
+ * Distributions are created through get(), which remembers the most
+ * recently used ones, so asking for the same distribution again costs
+ * only a lookup.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnDamageDistribution
+{
+	//the most distributions that are remembered at once
+	public static final int CACHE_SIZE = 4096;
+
+	//the remembered distributions, least recently used first
+	private static final LinkedHashMap<Integer, PkmnDamageDistribution> cache =
+		new LinkedHashMap<Integer, PkmnDamageDistribution>(64, .75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<Integer, PkmnDamageDistribution> eldest)
+			{
+				return size() > CACHE_SIZE;
+			}
+		};
+
+	//the attacking Pokemon, the defending Pokemon and the move used
+	private PkmnPokemon attacker;
+	private PkmnPokemon defender;
+	private PkmnMove move;
+	//the chance that the move hits
+	private double hitChance;
+	//the chance that a hit is a critical hit
+	private double critChance;
+	//each possible amount of damage on a hit, in increasing order, and its chance
+	private int[] damage;
+	private double[] chance;
+
+	/**
+	 * Get the damage distribution of a move.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param move the move the attacker uses
+	 * @return the distribution
+	 */
+	public static PkmnDamageDistribution get(PkmnPokemon attacker, PkmnPokemon defender, PkmnMove move)
+	{
+		Integer key = Integer.valueOf((attacker.ordinal()*PkmnPokemon.values().length
+				+ defender.ordinal())*PkmnMove.values().length + move.ordinal());
+		synchronized(cache)
+		{
+			PkmnDamageDistribution dist = cache.get(key);
+			if (dist == null)
+			{
+				dist = new PkmnDamageDistribution(attacker, defender, move);
+				cache.put(key, dist);
+			}
+			return dist;
+		}
+	}
+
+	/**
+	 * Constructor for PkmnDamageDistribution.  Use get() instead, so that
+	 * distributions are shared.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param move the move the attacker uses
+	 */
+	private PkmnDamageDistribution(PkmnPokemon attacker, PkmnPokemon defender, PkmnMove move)
+	{
+		this.attacker = attacker;
+		this.defender = defender;
+		this.move = move;
+
+		int opCode = move.getOpCode();
+		if (opCode == 1 || opCode == 2)
+		{
+			//moves that only heal always hit and do no damage
+			hitChance = 1;
+			critChance = 0;
+			damage = new int[] {0};
+			chance = new double[] {1};
+			return;
+		}
+
+		//an attack hits when a random number below 100 is below its accuracy
+		hitChance = Math.max(0, Math.min(1, move.getAccuracy() / 100.0));
+		//a hit is critical when a random number below 1000 is below 125 or 63
+		critChance = (opCode == 4) ? .125 : .063;
+
+		int base = PkmnDamageTable.calcBaseDamageFixed(attacker, defender, move);
+		int typeMod = PkmnDamageTable.calcTypeModifierFixed(attacker, defender, move);
+
+		//add up the chance of every amount of damage for both kinds of hit
+		// and every roll, which are all equally likely
+		TreeMap<Integer, Double> pmf = new TreeMap<Integer, Double>();
+		int rolls = PkmnDamageTable.ROLL_MAX - PkmnDamageTable.ROLL_MIN + 1;
+		for (int roll = PkmnDamageTable.ROLL_MIN; roll <= PkmnDamageTable.ROLL_MAX; roll++)
+		{
+			add(pmf, PkmnDamageTable.damage(base, typeMod, 1, roll), (1 - critChance) / rolls);
+			add(pmf, PkmnDamageTable.damage(base, typeMod, 2, roll), critChance / rolls);
+		}
+
+		damage = new int[pmf.size()];
+		chance = new double[pmf.size()];
+		int i = 0;
+		for (Map.Entry<Integer, Double> entry : pmf.entrySet())
+		{
+			damage[i] = entry.getKey();
+			chance[i] = entry.getValue();
+			i++;
+		}
+	}
+
+	/**
+	 * Adds to the chance of an amount of damage.
+	 *
+	 * @param pmf the distribution to add to
+	 * @param dmg the amount of damage
+	 * @param p the chance to add
+	 */
+	private static void add(TreeMap<Integer, Double> pmf, int dmg, double p)
+	{
+		Double old = pmf.get(dmg);
+		pmf.put(dmg, old == null ? p : old + p);
+	}
+
+	/**
+	 * Get the attacking Pokemon.
+	 *
+	 * @return attacker
+	 */
+	public PkmnPokemon getAttacker() { return attacker; }
+
+	/**
+	 * Get the defending Pokemon.
+	 *
+	 * @return defender
+	 */
+	public PkmnPokemon getDefender() { return defender; }
+
+	/**
+	 * Get the move.
+	 *
+	 * @return move
+	 */
+	public PkmnMove getMove() { return move; }
+
+	/**
+	 * Get the chance that the move hits.
+	 *
+	 * @return hitChance
+	 */
+	public double getHitChance() { return hitChance; }
+
+	/**
+	 * Get the chance that a hit is a critical hit.
+	 *
+	 * @return critChance
+	 */
+	public double getCritChance() { return critChance; }
+
+	/**
+	 * Get the number of different amounts of damage a hit can do.
+	 *
+	 * @return the number of outcomes of a hit
+	 */
+	public int size() { return damage.length; }
+
+	/**
+	 * Get one of the amounts of damage a hit can do.
+	 *
+	 * @param i which outcome, from 0 (the least damage) to size()-1
+	 * @return the amount of damage
+	 */
+	public int getDamage(int i) { return damage[i]; }
+
+	/**
+	 * Get the chance of one of the amounts of damage, given that the move hits.
+	 *
+	 * @param i which outcome, from 0 (the least damage) to size()-1
+	 * @return the chance of that outcome on a hit
+	 */
+	public double getHitProbability(int i) { return chance[i]; }
+
+	/**
+	 * Get the chance that a use of the move does exactly the given damage.
+	 * A miss does no damage.
+	 *
+	 * @param dmg the amount of damage
+	 * @return the chance of doing exactly that much damage
+	 */
+	public double getProbability(int dmg)
+	{
+		double p = (dmg == 0) ? 1 - hitChance : 0;
+		int i = Arrays.binarySearch(damage, dmg);
+		if (i >= 0) p += hitChance * chance[i];
+		return p;
+	}
+
+	/**
+	 * Get the chance that a use of the move does at least the given damage,
+	 * e.g., the chance of knocking out a Pokemon with that much HP left.
+	 *
+	 * @param dmg the amount of damage
+	 * @return the chance of doing at least that much damage
+	 */
+	public double getProbabilityAtLeast(int dmg)
+	{
+		double p = (dmg <= 0) ? 1 - hitChance : 0;
+		for (int i = 0; i < damage.length; i++)
+		{
+			if (damage[i] >= dmg) p += hitChance * chance[i];
+		}
+		return p;
+	}
+
+	/**
+	 * Get the average damage of a use of the move, counting misses.
+	 *
+	 * @return the expected damage
+	 */
+	public double getMeanDamage()
+	{
+		double mean = 0;
+		for (int i = 0; i < damage.length; i++)
+		{
+			mean += damage[i] * chance[i];
+		}
+		return mean * hitChance;
+	}
+}
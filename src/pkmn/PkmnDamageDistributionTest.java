@@ -0,0 +1,60 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+/**
+ * Test class for PkmnDamageDistribution.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnDamageDistributionTest
+{
+	@Test
+	/**
+	 * Make sure the chances of a hit's outcomes add up to one, and that
+	 * every attack can do at least nothing.
+	 */
+	public void testChancesAddUpToOne()
+	{
+		for (PkmnMove move : PkmnPokemon.Charizard.getMoveSet())
+		{
+			PkmnDamageDistribution dist =
+				PkmnDamageDistribution.get(PkmnPokemon.Charizard, PkmnPokemon.Blastoise, move);
+			double sum = 0;
+			for (int i = 0; i < dist.size(); i++) sum += dist.getHitProbability(i);
+			assertEquals(1, sum, 1e-9);
+			assertEquals(1, dist.getProbabilityAtLeast(0), 1e-9);
+		}
+	}
+
+	@Test
+	/**
+	 * Shadow Claw has a higher critical-hit chance than Fire Blast,
+	 * and Fire Blast misses more often.
+	 */
+	public void testCritAndHitChance()
+	{
+		PkmnDamageDistribution claw =
+			PkmnDamageDistribution.get(PkmnPokemon.Charizard, PkmnPokemon.Mew, PkmnMove.ShadowClaw);
+		PkmnDamageDistribution blast =
+			PkmnDamageDistribution.get(PkmnPokemon.Charizard, PkmnPokemon.Mew, PkmnMove.FireBlast);
+		assertEquals(.125, claw.getCritChance(), 0);
+		assertEquals(.063, blast.getCritChance(), 0);
+		assertTrue(blast.getHitChance() < claw.getHitChance());
+	}
+
+	@Test
+	/**
+	 * Roost never does damage, and asking twice gives the same distribution.
+	 */
+	public void testHealingMoveAndCache()
+	{
+		PkmnDamageDistribution roost =
+			PkmnDamageDistribution.get(PkmnPokemon.Moltres, PkmnPokemon.Mew, PkmnMove.Roost);
+		assertEquals(1, roost.getProbability(0), 0);
+		assertEquals(0, roost.getMeanDamage(), 0);
+		assertSame(roost, PkmnDamageDistribution.get(PkmnPokemon.Moltres, PkmnPokemon.Mew, PkmnMove.Roost));
+	}
+}
@@ -0,0 +1,289 @@
+package pkmn;
+
+import java.util.Arrays;
+
+/**
+ * A table of the parts of the damage calculation that never change during
+ * a battle.  For every attacking Pokemon, defending Pokemon and move in the
+ * attacker's moveset it holds the base damage (level, attack/defense ratio
+ * and power) and the type modifier (STAB and both of the defender's types).
+ * Only the random roll and critical hits are left to be applied when a move
+ * is used, by damage().
+ *
+ * All of the arithmetic is done with integers, so a battle plays out the
+ * same on any JVM.  Base damage is kept in 1/BASE_ONE units and type
+ * modifiers in 1/TYPE_ONE units; the damage of a hit is rounded down only
+ * once, at the end.
+ *
+ * The table is built once, when the class is loaded.  Entries are indexed
+ * by the Pokemon's ordinals and the move's index in the attacker's moveset.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnDamageTable
+{
+	//For this program's purposes the level is always 100.
+	private static final int LEVEL = 100;
+
+	//base damage is kept in 4096ths, and type modifiers in eighths
+	// (STAB is 3/2 and type effectiveness is in quarters)
+	public static final int BASE_ONE = 4096;
+	public static final int TYPE_ONE = 8;
+
+	//the lowest and highest random roll, in percent
+	public static final int ROLL_MIN = 85;
+	public static final int ROLL_MAX = 100;
+
+	//all of the Pokemon, in ordinal order
+	private static final PkmnPokemon[] POKEMON = PkmnPokemon.values();
+
+	//the number of moves in a moveset
+	public static final int MOVES = 4;
+
+	//the number of different moves
+	private static final int MOVE_COUNT = PkmnMove.values().length;
+
+	//base damage and type modifier of each attacker/defender/move combination
+	private static final int[] baseDamage;
+	private static final int[] typeModifier;
+	//the index of each move in each Pokemon's moveset, or -1, by ordinals
+	private static final byte[] moveSlot;
+
+	static
+	{
+		int n = POKEMON.length;
+		moveSlot = new byte[n*MOVE_COUNT];
+		Arrays.fill(moveSlot, (byte)-1);
+		for (PkmnPokemon pokemon : POKEMON)
+		{
+			//the first of a repeated move is the one used
+			for (int m = MOVES-1; m >= 0; m--)
+			{
+				moveSlot[pokemon.ordinal()*MOVE_COUNT + pokemon.moveset[m].ordinal()] = (byte)m;
+			}
+		}
+
+		baseDamage = new int[n*n*MOVES];
+		typeModifier = new int[n*n*MOVES];
+		for (PkmnPokemon attacker : POKEMON)
+		{
+			for (PkmnPokemon defender : POKEMON)
+			{
+				for (int m = 0; m < MOVES; m++)
+				{
+					PkmnMove move = attacker.moveset[m];
+					int idx = index(attacker, defender, m);
+					baseDamage[idx] = calcBaseDamageFixed(attacker, defender, move);
+					typeModifier[idx] = calcTypeModifierFixed(attacker, defender, move);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This class only has static members, so there is no reason to create one.
+	 */
+	private PkmnDamageTable()
+	{
+	}
+
+	/**
+	 * Get the position of an entry in the table.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param moveIndex the index of the move in the attacker's moveset
+	 * @return the index of the entry
+	 */
+	private static int index(PkmnPokemon attacker, PkmnPokemon defender, int moveIndex)
+	{
+		return (attacker.ordinal()*POKEMON.length + defender.ordinal())*MOVES + moveIndex;
+	}
+
+	/**
+	 * Find a move in a Pokemon's moveset.
+	 *
+	 * @param pokemon the Pokemon
+	 * @param move the move
+	 * @return the index of the move in the moveset, or -1 if it is not there
+	 */
+	public static int moveIndex(PkmnPokemon pokemon, PkmnMove move)
+	{
+		if (move == null) return -1;
+		return moveSlot[pokemon.ordinal()*MOVE_COUNT + move.ordinal()];
+	}
+
+	/**
+	 * Get the base damage of a move: everything but the modifiers.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param moveIndex the index of the move in the attacker's moveset
+	 * @return the base damage, in 1/BASE_ONE units
+	 */
+	public static int getBaseDamageFixed(PkmnPokemon attacker, PkmnPokemon defender, int moveIndex)
+	{
+		return baseDamage[index(attacker, defender, moveIndex)];
+	}
+
+	/**
+	 * Get the type modifier of a move: STAB times how effective the move's
+	 * type is against both of the defender's types.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param moveIndex the index of the move in the attacker's moveset
+	 * @return the type modifier, in 1/TYPE_ONE units
+	 */
+	public static int getTypeModifierFixed(PkmnPokemon attacker, PkmnPokemon defender, int moveIndex)
+	{
+		return typeModifier[index(attacker, defender, moveIndex)];
+	}
+
+	/**
+	 * Get the base damage of a move: everything but the modifiers.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param moveIndex the index of the move in the attacker's moveset
+	 * @return the base damage
+	 */
+	public static double getBaseDamage(PkmnPokemon attacker, PkmnPokemon defender, int moveIndex)
+	{
+		return getBaseDamageFixed(attacker, defender, moveIndex) / (double)BASE_ONE;
+	}
+
+	/**
+	 * Get the type modifier of a move: STAB times how effective the move's
+	 * type is against both of the defender's types.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param moveIndex the index of the move in the attacker's moveset
+	 * @return the type modifier
+	 */
+	public static double getTypeModifier(PkmnPokemon attacker, PkmnPokemon defender, int moveIndex)
+	{
+		return getTypeModifierFixed(attacker, defender, moveIndex) / (double)TYPE_ONE;
+	}
+
+	/**
+	 * Calculates the damage of one hit.
+	 *
+	 * @param base the base damage, in 1/BASE_ONE units
+	 * @param typeMod the type modifier, in 1/TYPE_ONE units
+	 * @param crit 1 for a normal hit, 2 for a critical hit
+	 * @param roll the random roll, from ROLL_MIN to ROLL_MAX percent
+	 * @return the damage, rounded down
+	 */
+	public static int damage(int base, int typeMod, int crit, int roll)
+	{
+		return (int)((long)base * typeMod * crit * roll / ((long)BASE_ONE * TYPE_ONE * 100));
+	}
+
+	/**
+	 * Get the damage a move does before the random roll and critical hits.
+	 * Moves that only heal do no damage.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param moveIndex the index of the move in the attacker's moveset
+	 * @return the damage before the random roll and critical hits
+	 */
+	public static double getDamage(PkmnPokemon attacker, PkmnPokemon defender, int moveIndex)
+	{
+		int opCode = attacker.moveset[moveIndex].getOpCode();
+		if (opCode == 1 || opCode == 2) return 0;
+
+		return getBaseDamage(attacker, defender, moveIndex) * getTypeModifier(attacker, defender, moveIndex);
+	}
+
+	/**
+	 * Calculates the base damage of a move: the level, the attack/defense
+	 * (or special attack/special defense) ratio and the move's power.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param move the move
+	 * @return the base damage, in 1/BASE_ONE units
+	 */
+	public static int calcBaseDamageFixed(PkmnPokemon attacker, PkmnPokemon defender, PkmnMove move)
+	{
+		//The first term used in the damage calculation
+		// equation is (2*LEVEL+10)/250; the second is
+		// an attack/defense ratio.
+		long numerator = (2*LEVEL+10) * (long)move.getPower() * BASE_ONE;
+		long denominator = 250;
+
+		//Alter term two based on if the move is
+		// a Physical or Special move.
+		if (move.getBase() == 0)
+		{
+			numerator *= (long)attacker.atk;
+			denominator *= (long)defender.def;
+		}
+		else if (move.getBase() == 1)
+		{
+			numerator *= (long)attacker.spa;
+			denominator *= (long)defender.spd;
+		}
+
+		//Multiply the terms together with the move's power
+		return (int)(numerator / denominator) + 2*BASE_ONE;
+	}
+
+	/**
+	 * Calculates the base damage of a move: the level, the attack/defense
+	 * (or special attack/special defense) ratio and the move's power.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param move the move
+	 * @return the base damage
+	 */
+	public static double calcBaseDamage(PkmnPokemon attacker, PkmnPokemon defender, PkmnMove move)
+	{
+		return calcBaseDamageFixed(attacker, defender, move) / (double)BASE_ONE;
+	}
+
+	/**
+	 * Calculates the type modifier of a move: STAB (Same Type Attack Bonus)
+	 * times how effective the move's type is against the defender's types.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param move the move
+	 * @return the type modifier, in 1/TYPE_ONE units
+	 */
+	public static int calcTypeModifierFixed(PkmnPokemon attacker, PkmnPokemon defender, PkmnMove move)
+	{
+		//STAB, in halves
+		int stab;
+		//If the move type and Pokemon type match,
+		// damage gets a bonus called STAB
+		// (Same Type Attack Bonus).
+		if (move.getType().equals(attacker.getType1()) ||
+				move.getType().equals(attacker.getType2()))
+			stab = 3;
+		else
+			stab = 2;
+
+		//halves times quarters are eighths
+		return stab * PkmnTypeTable.getQuarters(move.getType(), defender);
+	}
+
+	/**
+	 * Calculates the type modifier of a move: STAB (Same Type Attack Bonus)
+	 * times how effective the move's type is against the defender's types.
+	 *
+	 * @param attacker the attacking Pokemon
+	 * @param defender the defending Pokemon
+	 * @param move the move
+	 * @return the type modifier
+	 */
+	public static double calcTypeModifier(PkmnPokemon attacker, PkmnPokemon defender, PkmnMove move)
+	{
+		return calcTypeModifierFixed(attacker, defender, move) / (double)TYPE_ONE;
+	}
+}
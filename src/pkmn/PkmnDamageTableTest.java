@@ -0,0 +1,75 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+/**
+ * Test class for PkmnDamageTable.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnDamageTableTest
+{
+	@Test
+	/**
+	 * Make sure every entry in the table matches the calculation it replaces.
+	 */
+	public void testTableMatchesCalculation()
+	{
+		for (PkmnPokemon att : PkmnPokemon.values())
+		{
+			for (PkmnPokemon def : PkmnPokemon.values())
+			{
+				for (int m = 0; m < PkmnDamageTable.MOVES; m++)
+				{
+					PkmnMove move = att.getMoveSet()[m];
+					assertTrue(PkmnDamageTable.getBaseDamage(att, def, m)
+							== PkmnDamageTable.calcBaseDamage(att, def, move));
+					assertTrue(PkmnDamageTable.getTypeModifier(att, def, m)
+							== PkmnDamageTable.calcTypeModifier(att, def, move));
+				}
+			}
+		}
+	}
+
+	@Test
+	/**
+	 * Rock Slide is super effective against both of Charizard's types,
+	 * and Sludge Bomb gets STAB for Bulbasaur.
+	 */
+	public void testTypeModifier()
+	{
+		int rockSlide = PkmnDamageTable.moveIndex(PkmnPokemon.Blastoise, PkmnMove.RockSlide);
+		assertTrue(PkmnDamageTable.getTypeModifier(PkmnPokemon.Blastoise, PkmnPokemon.Charizard, rockSlide) == 4);
+		int sludgeBomb = PkmnDamageTable.moveIndex(PkmnPokemon.Bulbasaur, PkmnMove.SludgeBomb);
+		assertTrue(PkmnDamageTable.getTypeModifier(PkmnPokemon.Bulbasaur, PkmnPokemon.Mew, sludgeBomb) == 1.5);
+	}
+
+	@Test
+	/**
+	 * Moves that only heal do no damage, and moves not in the moveset
+	 * are not found.
+	 */
+	public void testHealingMovesDoNoDamage()
+	{
+		int roost = PkmnDamageTable.moveIndex(PkmnPokemon.Moltres, PkmnMove.Roost);
+		assertTrue(roost == 3);
+		assertTrue(PkmnDamageTable.getDamage(PkmnPokemon.Moltres, PkmnPokemon.Mew, roost) == 0);
+		assertTrue(PkmnDamageTable.moveIndex(PkmnPokemon.Moltres, PkmnMove.Surf) == -1);
+	}
+
+	@Test
+	/**
+	 * Make sure a hit's damage is only rounded down once, at the end:
+	 * 10 * 1.5 (STAB) * 2 (critical hit) * .85 is 25.5.
+	 */
+	public void testDamageRoundsDownOnce()
+	{
+		int base = 10 * PkmnDamageTable.BASE_ONE;
+		int stab = 3 * PkmnDamageTable.TYPE_ONE / 2;
+		assertTrue(PkmnDamageTable.damage(base, stab, 2, 85) == 25);
+		assertTrue(PkmnDamageTable.damage(base, stab, 1, 100) == 15);
+		assertTrue(PkmnDamageTable.damage(base, 0, 2, 100) == 0);
+	}
+}
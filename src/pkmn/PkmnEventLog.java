@@ -0,0 +1,203 @@
+package pkmn;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An append-only binary log of battles.  Every record is RECORD_SIZE
+ * bytes, so a log can be read, skipped through and split without parsing:
+ *
+ * HEADER (one per battle, when the battle starts)
+ *   byte kind, byte 0, short Pokemon of player 0, short Pokemon of
+ *   player 1 (ordinals), short 0, long seed of the battle
+ * ATTACK (one per attack)
+ *   byte kind, byte player, byte player who moved first this turn,
+ *   byte flags (HIT, CRIT), short move ordinal, byte roll (85-100, or 0
+ *   if there was none), byte 0, short damage, short attacker's HP after,
+ *   short defender's HP after, short turn
+ * END (one per battle, when it has a winner or ends in a draw)
+ *   byte kind, byte winner (0xFF for a draw), short turns, 12 bytes 0
+ *
+ * A battle with no END record was cut off before it ended.
+ *
+ * Records are gathered in a direct buffer and written to the channel a
+ * batch at a time.  A log is not thread-safe: give each thread its own.
+ * Write errors are remembered and reported by flush() and close(), so
+ * the battle logging its moves is never interrupted.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnEventLog
+{
+	//the size of every record, in bytes
+	public static final int RECORD_SIZE = 16;
+
+	//the kinds of record
+	public static final byte HEADER = 1;
+	public static final byte ATTACK = 2;
+	public static final byte END = 3;
+
+	//the flags of an attack record
+	public static final int HIT = 1;
+	public static final int CRIT = 2;
+
+	//how many records are gathered before they are written
+	private static final int BATCH = 4096;
+
+	//where the records are written
+	private WritableByteChannel channel;
+	//the records not yet written
+	private ByteBuffer buffer;
+	//how many records have been logged
+	private long records;
+	//the first write error, if any
+	private IOException error;
+
+	/**
+	 * Constructor for a PkmnEventLog that appends to a file.
+	 *
+	 * @param file the file to append to
+	 * @throws IOException if the file cannot be opened
+	 */
+	public PkmnEventLog(File file) throws IOException
+	{
+		this(new FileOutputStream(file, true).getChannel());
+	}
+
+	/**
+	 * Constructor for a PkmnEventLog that writes to a channel.
+	 *
+	 * @param channel the channel to write to
+	 */
+	public PkmnEventLog(WritableByteChannel channel)
+	{
+		this.channel = channel;
+		buffer = ByteBuffer.allocateDirect(RECORD_SIZE * BATCH);
+		records = 0;
+		error = null;
+	}
+
+	/**
+	 * Logs the start of a battle.
+	 *
+	 * @param seed the battle's seed
+	 * @param pokemon0 the Pokemon of player 0
+	 * @param pokemon1 the Pokemon of player 1
+	 */
+	public void header(long seed, PkmnPokemon pokemon0, PkmnPokemon pokemon1)
+	{
+		room();
+		buffer.put(HEADER);
+		buffer.put((byte)0);
+		buffer.putShort((short)pokemon0.ordinal());
+		buffer.putShort((short)pokemon1.ordinal());
+		buffer.putShort((short)0);
+		buffer.putLong(seed);
+		records++;
+	}
+
+	/**
+	 * Logs one attack.
+	 *
+	 * @param player the 0/1 id of the attacking player
+	 * @param first the 0/1 id of the player who moved first this turn
+	 * @param move the move used
+	 * @param flags HIT and/or CRIT
+	 * @param roll the random roll, or 0 if there was none
+	 * @param damage the damage done
+	 * @param attackerHP the attacker's HP after the attack
+	 * @param defenderHP the defender's HP after the attack
+	 * @param turn the turn, counting from 1
+	 */
+	public void attack(int player, int first, PkmnMove move, int flags, int roll,
+			int damage, int attackerHP, int defenderHP, int turn)
+	{
+		room();
+		buffer.put(ATTACK);
+		buffer.put((byte)player);
+		buffer.put((byte)first);
+		buffer.put((byte)flags);
+		buffer.putShort((short)move.ordinal());
+		buffer.put((byte)roll);
+		buffer.put((byte)0);
+		buffer.putShort((short)damage);
+		buffer.putShort((short)attackerHP);
+		buffer.putShort((short)defenderHP);
+		buffer.putShort((short)turn);
+		records++;
+	}
+
+	/**
+	 * Logs the end of a battle.
+	 *
+	 * @param winner the 0/1 id of the winner, or -1 for a draw
+	 * @param turns how many turns the battle took
+	 */
+	public void end(int winner, int turns)
+	{
+		room();
+		buffer.put(END);
+		buffer.put((byte)winner);
+		buffer.putShort((short)turns);
+		buffer.putInt(0);
+		buffer.putLong(0);
+		records++;
+	}
+
+	/**
+	 * Makes room in the buffer for one more record.
+	 */
+	private void room()
+	{
+		if (buffer.remaining() < RECORD_SIZE) write();
+	}
+
+	/**
+	 * Writes the buffered records to the channel, remembering any error.
+	 */
+	private void write()
+	{
+		buffer.flip();
+		try
+		{
+			while (buffer.hasRemaining()) channel.write(buffer);
+		}
+		catch (IOException ioe)
+		{
+			if (error == null) error = ioe;
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes every record logged so far.
+	 *
+	 * @throws IOException if any record could not be written
+	 */
+	public void flush() throws IOException
+	{
+		write();
+		if (error != null) throw error;
+	}
+
+	/**
+	 * Writes every record logged so far and closes the channel.
+	 *
+	 * @throws IOException if any record could not be written
+	 */
+	public void close() throws IOException
+	{
+		write();
+		channel.close();
+		if (error != null) throw error;
+	}
+
+	/**
+	 * Get how many records have been logged.
+	 *
+	 * @return records
+	 */
+	public long getRecords() { return records; }
+}
@@ -0,0 +1,69 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Test class for PkmnEventLog.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnEventLogTest
+{
+	@Test
+	/**
+	 * Make sure a battle is logged as a header, its attacks, and its end.
+	 */
+	public void testBattleIsLogged() throws IOException
+	{
+		File file = File.createTempFile("events", ".log");
+		try
+		{
+			PkmnEventLog log = new PkmnEventLog(file);
+			PkmnGameImpl game = new PkmnGameImpl(2, 99L);
+			game.setBattlePause(0);
+			game.setEventLog(log);
+			game.initializeGame();
+			game.selectPokemon(0, PkmnPokemon.Mewtwo);
+			game.selectPokemon(1, PkmnPokemon.Pikachu);
+			PkmnMove move0 = PkmnPokemon.Mewtwo.getMoveSet()[0];
+			PkmnMove move1 = PkmnPokemon.Pikachu.getMoveSet()[0];
+			while (((PkmnState)game.getGameState(null, 0)).gameWinner() < 0)
+			{
+				game.selectAttack(0, move0);
+				game.selectAttack(1, move1);
+			}
+			log.close();
+
+			byte[] bytes = new byte[(int)file.length()];
+			DataInputStream in = new DataInputStream(new FileInputStream(file));
+			in.readFully(bytes);
+			in.close();
+			assertTrue(bytes.length == log.getRecords() * PkmnEventLog.RECORD_SIZE);
+
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			assertTrue(buffer.get(0) == PkmnEventLog.HEADER);
+			assertTrue(buffer.getShort(2) == PkmnPokemon.Mewtwo.ordinal());
+			assertTrue(buffer.getShort(4) == PkmnPokemon.Pikachu.ordinal());
+			assertTrue(buffer.getLong(8) == 99L);
+
+			//Mewtwo is faster, so it attacks first
+			assertTrue(buffer.get(16) == PkmnEventLog.ATTACK);
+			assertTrue(buffer.get(17) == 0);
+			assertTrue(buffer.get(18) == 0);
+			assertTrue(buffer.getShort(20) == move0.ordinal());
+
+			int last = bytes.length - PkmnEventLog.RECORD_SIZE;
+			assertTrue(buffer.get(last) == PkmnEventLog.END);
+			assertTrue(buffer.get(last + 1) == 0);
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+}
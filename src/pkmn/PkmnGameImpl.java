@@ -26,10 +26,17 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	private Vector<Vector<PkmnPokemon>> pokemonTeam;
 	//the currently selected pokemon of each player
 	private Vector<PkmnPokemon> currPokemon;
-	// the current Health the players pokemon
-	private Vector<Vector<Integer>> currHP;
-	// the current PP of each move
-	private Vector<Vector<Integer[]>> currMovePP;
+	//the team slot of each player's pokemon, and of their current pokemon
+	private PkmnTeamIndex teamIndex;
+	// the current Health the players pokemon, by player and team slot
+	private int[][] currHP;
+	// the current PP of each move, by player, team slot and moveset index
+	private int[][][] currMovePP;
+	//how many of each player's pokemon have HP left, how many players have
+	//any pokemon left, and the sum of those players' ids
+	private int[] aliveCount;
+	private int teamsAlive;
+	private int aliveTeamSum;
 	//whether each player has selected a move for this turn
 	private boolean hasMoved[]; 
 	//Whether or not an attack has missed
@@ -40,6 +47,39 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	private boolean isPkmnSelect;
 	//the number of Pokemon each player is allowed to have
 	private int PkmnPerTeam;
+	//decides how long to wait before each attack so people can follow the battle
+	private PkmnPacingClock pacingClock;
+	//where every random decision in this battle comes from, and its seed
+	private PkmnRandom random;
+	private long seed;
+	//where the battle's events are logged, if anywhere
+	private PkmnEventLog eventLog;
+	//the current turn and the player who moved first in it
+	private int turn;
+	//whether the end of the battle has been logged
+	private boolean battleEnded;
+	private int firstPlayer;
+	//the roll, critical hit (1 or 2) and damage of the last attack
+	private int lastRoll;
+	private int lastCrit;
+	private int lastDamage;
+	//how many milliseconds each player has to choose an attack (0 for no limit)
+	private int turnTimeLimit;
+	//the timer that enforces the limit, and when the current turn started
+	private GameTimer turnTimer;
+	private long turnStartedAt;
+	//the latest snapshot of the game's state, which every reader shares,
+	//how many snapshots have been made, and whether the teams, and the
+	//HP and PP, have changed since the latest
+	private volatile PkmnState snapshot;
+	private long snapshotVersion;
+	private boolean teamsChanged;
+	private boolean statsChanged;
+	//whether the state has changed since the latest snapshot
+	private boolean stale;
+
+	//how often the turn time limit is checked, in milliseconds
+	private static final int TURN_TIMER_TICK = 100;
 
 
 	//Table representing how effective different types are against each other.
@@ -69,9 +109,24 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	 * @param numPlayers the number of players in this game
 	 */
 	public PkmnGameImpl(int numPlayers)
+	{
+		this(numPlayers, System.nanoTime());
+	}
+
+	/**
+	 * Constructor for PkmnGameImpl whose battle is decided by the given seed.
+	 * Two games with the same seed and the same moves play out identically.
+	 * 
+	 * @param numPlayers the number of players in this game
+	 * @param seed the seed for the battle's random decisions
+	 */
+	public PkmnGameImpl(int numPlayers, long seed)
 	{
 		super();
 
+		random = new PkmnRandom(seed);
+		this.seed = seed;
+
 		this.numPlayers = numPlayers;
 
 		//Initialize has moved
@@ -79,18 +134,12 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 		//Initialize missed attack
 		missedAttack = new boolean[numPlayers];
 
-		//Initialize current Health
-		currHP = new Vector<Vector<Integer>>();
-		for (int i=0; i <numPlayers;i++){
-			currHP.add(new Vector<Integer>());
-		}
-
-		//Initialize move PPs
-		currMovePP = new Vector<Vector<Integer[]>>();
-		for(int i = 0; i < numPlayers; i++)
-		{
-			currMovePP.add(new Vector<Integer[]>());
-		}
+		//Initialize current Health and move PPs (filled in once all pokemon have been selected)
+		currHP = new int[numPlayers][0];
+		currMovePP = new int[numPlayers][0][];
+		aliveCount = new int[numPlayers];
+		teamsAlive = 0;
+		aliveTeamSum = 0;
 
 		//Initialize pokemon team
 		pokemonTeam = new Vector<Vector<PkmnPokemon>>();
@@ -100,8 +149,91 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 
 		//Initialize currPokemon (values given once all pokemon have been selected)
 		currPokemon = new Vector<PkmnPokemon>();
+		teamIndex = new PkmnTeamIndex(numPlayers);
 
 		PkmnPerTeam = 1;
+
+		//the players' screens pace the battle, so the game never waits
+		pacingClock = PkmnPacingClock.NONE;
+
+		turnTimeLimit = 0;
+		turnTimer = null;
+
+		//publish the first snapshot here, so that a reader who asks before
+		//the game has started never makes one on its own thread
+		gameWinner = -1;
+		isPkmnSelect = true;
+		snapshot = null;
+		snapshotVersion = 0;
+		teamsChanged = true;
+		statsChanged = true;
+		publish();
+	}
+
+	/**
+	 * Sets how long each player has to choose an attack.  A player who
+	 * takes longer uses their first move with PP left.  The limit must be
+	 * set before the game starts; choosing Pokemon is not timed.
+	 * 
+	 * @param millis the number of milliseconds allowed, or 0 for no limit
+	 */
+	public void setTurnTimeLimit(int millis)
+	{
+		turnTimeLimit = Math.max(0, millis);
+	}
+
+	/**
+	 * Sets how long the game pauses before each attack.  Games that are
+	 * driven directly (e.g., by a simulator) have no one to watch, so they
+	 * use a pause of zero.
+	 * 
+	 * @param millis the number of milliseconds to pause before each attack
+	 */
+	protected void setBattlePause(int millis)
+	{
+		setPacingClock(millis > 0 ? new PkmnSleepClock(millis) : PkmnPacingClock.NONE);
+	}
+
+	/**
+	 * Sets the clock that paces the battle.  By default the game never
+	 * waits, and each player's screen shows the attacks at its own pace.
+	 * 
+	 * @param clock the clock, or null for one that never waits
+	 */
+	public void setPacingClock(PkmnPacingClock clock)
+	{
+		pacingClock = (clock == null) ? PkmnPacingClock.NONE : clock;
+	}
+
+	/**
+	 * Sets where the battle's events are logged: the Pokemon and seed
+	 * when the battle starts, every attack, and the winner.
+	 * 
+	 * @param eventLog the log, or null to stop logging
+	 */
+	public void setEventLog(PkmnEventLog eventLog)
+	{
+		this.eventLog = eventLog;
+	}
+
+	/**
+	 * Get the seed of this battle's random decisions.
+	 * 
+	 * @return seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Get the source of this battle's random decisions.
+	 * 
+	 * @return random
+	 */
+	public PkmnRandom getRandom()
+	{
+		return random;
 	}
 
 	/**
@@ -143,6 +275,7 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	{
 		//game winner is -1 as long as no one has won
 		gameWinner = -1; 
+		battleEnded = false;
 
 		for(int i =0; i<hasMoved.length;i++) hasMoved[i]=false;
 
@@ -152,6 +285,7 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 
 
 		// tell both players that the game's state has changed
+		stateChanged();
 		notifyAllStateChanged();
 	}
 
@@ -164,10 +298,8 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	 */
 	public boolean gameOver() 
 	{
-		if(gameWinner >= 0){
-			// make sure all have up to date state
-			notifyAllStateChanged();
-		}
+		// the players are told of the final state when the game ends, so
+		// there is no need to tell them again each time this is asked
 		return gameWinner >= 0;
 	}
 
@@ -213,17 +345,107 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	 */
 	protected GameState getGameState(GamePlayer p, int stateType) 
 	{
-		return new PkmnState(pokemonTeam,currPokemon,currHP,currMovePP, 
-				hasMoved, missedAttack, isPkmnSelect, gameWinner);
+		//a game without players is driven and read on one thread, so its
+		//snapshot is made when it is asked for rather than at each change;
+		//otherwise only the game's thread makes snapshots
+		if (player == null && stale) publish();
+		return snapshot;
 	}
 
 	/**
-	 * Handles a timer event.  By default, the method does nothing.  However,
-	 * for games that require a timer, this method provides a place to put
-	 * the behavior to perform whenever a time event occurs.
+	 * Gets a view of the game's state that sees every change the game
+	 * makes, for code that drives the game directly (e.g., a simulator)
+	 * and reads the state on the same thread.  Such code can never see a
+	 * change half made, so it need not pay for a snapshot each turn.
 	 * 
+	 * @return the view
+	 */
+	PkmnState getLiveState()
+	{
+		return new PkmnState(pokemonTeam,currPokemon,teamIndex,currHP,currMovePP, 
+				hasMoved, missedAttack, isPkmnSelect, gameWinner);
+	}
+
+	/**
+	 * Records that the game's state has changed, and makes a new snapshot
+	 * of it for the players to share.  Must be called on the game's thread
+	 * after each change to the state is complete, so that readers never
+	 * see a change half made.
+	 */
+	private void stateChanged()
+	{
+		stale = true;
+		if (player != null) publish();
+	}
+
+	/**
+	 * Makes a new snapshot of the game's state.
+	 */
+	private void publish()
+	{
+		snapshot = PkmnState.snapshot(snapshot, ++snapshotVersion, teamsChanged, statsChanged,
+				pokemonTeam, currPokemon, teamIndex, currHP, currMovePP, hasMoved, missedAttack,
+				isPkmnSelect, gameWinner);
+		teamsChanged = false;
+		statsChanged = false;
+		stale = false;
+	}
+
+	/**
+	 * Starts the turn timer once the players are ready, if turns have a
+	 * time limit.  The timer's ticks come from the timer service shared by
+	 * all games.
+	 */
+	protected void performAfterAllAreReady()
+	{
+		if (turnTimeLimit > 0){
+			turnStartedAt = System.currentTimeMillis();
+			turnTimer = new GameTimer(this, TURN_TIMER_TICK);
+			turnTimer.start();
+		}
+	}
+
+	/**
+	 * Stops the turn timer, if there is one, however the game ended.
+	 */
+	protected void performAfterGameEnds()
+	{
+		if (turnTimer != null) turnTimer.stop();
+	}
+
+	/**
+	 * Handles a timer event: if the turn has a time limit and it has run
+	 * out, every player who has not chosen an attack uses their first
+	 * move with PP left.
 	 */
 	protected void handleTimerEvent() {
+		if (turnTimeLimit <= 0 || isPkmnSelect || gameWinner >= 0) return;
+		if (System.currentTimeMillis() - turnStartedAt < turnTimeLimit) return;
+
+		//stop once the turn has been played, so no one is hurried in the next
+		int lateTurn = turn;
+		for (int i = 0; i < numPlayers && turn == lateTurn && gameWinner < 0; i++){
+			if (!hasMoved[i]){
+				PkmnMove move = firstMoveWithPP(i);
+				if (move != null) selectAttack(i, move);
+			}
+		}
+	}
+
+	/**
+	 * finds the first move of a player's current pokemon that has PP left
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return the move, or null if no move has PP left
+	 */
+	private PkmnMove firstMoveWithPP(int player)
+	{
+		int slot = teamIndex.getCurrSlot(player);
+		PkmnMove[] moveset = currPokemon.get(player).moveset;
+		for (int k = 0; k < 4; k++){
+			if (currMovePP[player][slot][k] > 0) return moveset[k];
+		}
+		return null;
 	}
 
 	/**
@@ -258,11 +480,26 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 		// get the 0/1 id of our player
 		int playerId = indexOf(thePlayer);
 
+		return selectPokemon(playerId, ((PkmnSelectMoveAction) move).getPokemon());
+	}
+
+	/**
+	 * attempts to add a pokemon to the given player's team
+	 *
+	 * @param playerId the 0/1 id of the player
+	 * @param pokemon the pokemon the player selected
+	 * @return true if the selection was successfully made; false it it's an
+	 *  illegal move.
+	 */
+	protected boolean selectPokemon(int playerId, PkmnPokemon pokemon) 
+	{
 		//checks if player has moved, and selects move if they have not
 		if(hasMoved[playerId]) return false;
 		else{
 			Vector<PkmnPokemon> thisTeam = pokemonTeam.get(playerId);
-			thisTeam.add(((PkmnSelectMoveAction) move).getPokemon());
+			thisTeam.add(pokemon);
+			teamIndex.add(playerId, pokemon, thisTeam.size()-1);
+			teamsChanged = true;
 			//checks to see if player has selected all of the pokemon they are aloud to
 			if (thisTeam.size() >=PkmnPerTeam){
 				hasMoved[playerId]=true;
@@ -286,15 +523,16 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 				//the current HealthValues and move PPs
 				for(int i=0; i<numPlayers;i++){
 					currPokemon.add(pokemonTeam.get(i).get(0));
+					teamIndex.setCurrSlot(i, 0);
+					currHP[i] = new int[pokemonTeam.get(i).size()];
+					currMovePP[i] = new int[pokemonTeam.get(i).size()][4];
 					for(int j=0; j<pokemonTeam.get(i).size();j++){
-						currHP.get(i).add(new Integer(pokemonTeam.get(i).get(j).hp));
+						setHP(i, j, pokemonTeam.get(i).get(j).hp);
 
-						Integer[] tempPPArray = new Integer[4]; 
 						for(int k = 0; k < 4; k++)
 						{
-							tempPPArray[k] = pokemonTeam.get(i).get(j).moveset[k].getPP();
+							currMovePP[i][j][k] = pokemonTeam.get(i).get(j).moveset[k].getPP();
 						}
-						currMovePP.get(i).add(tempPPArray);
 					}
 				}
 
@@ -303,10 +541,19 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 
 				//switch to fight phase
 				isPkmnSelect=false;
+				turn = 0;
+				turnStartedAt = System.currentTimeMillis();
+				if (eventLog != null && numPlayers == 2){
+					eventLog.header(seed, currPokemon.get(0), currPokemon.get(1));
+				}
 
 				// tell both players that the game's state has changed
+				stateChanged();
 				notifyAllStateChanged();
 			}
+			else{
+				stateChanged();
+			}
 		}
 		//if the end is reached return true
 		return true;
@@ -322,26 +569,37 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	{
 		// get the 0/1 id of our player
 		int playerId = indexOf(thePlayer);
+
+		return selectAttack(playerId, ((PkmnAttackMoveAction) move).getMove());
+	}
+
+	/**
+	 * attempts to select an attack for the given player's current pokemon,
+	 * executing the battle once every player has selected one
+	 *
+	 * @param playerId the 0/1 id of the player
+	 * @param attack the move the player selected
+	 * @return true if the attack was successfully selected; false it it's an
+	 *  illegal move.
+	 */
+	protected boolean selectAttack(int playerId, PkmnMove attack) 
+	{
 		// index of players pokemon in their team array
-		int indexOfPkmn = pokemonTeam.get(playerId).indexOf(currPokemon.get(playerId));
+		int indexOfPkmn = teamIndex.getCurrSlot(playerId);
 
-		//index of chosen move in pokemon's move array, finds the moves in the Pokemon's moveset
-		int moveIndex=0;
-		for (int i = 0; i < currPokemon.get(playerId).moveset.length; i++)
-		{
-			if (currPokemon.get(playerId).moveset[i].equals(((PkmnAttackMoveAction)move).getMove()))
-				moveIndex = i;
-		}
+		//index of chosen move in pokemon's move array
+		int moveIndex = Math.max(0, PkmnDamageTable.moveIndex(currPokemon.get(playerId), attack));
 
 		//checks if player has moved, and whether they have enough pp
-		if(hasMoved[playerId] || (currMovePP.get(playerId).get(indexOfPkmn)[moveIndex] <= 0))
+		if(hasMoved[playerId] || (currMovePP[playerId][indexOfPkmn][moveIndex] <= 0))
 			return false;
 		//add selected moveh
 		else{
-			selectedMove[playerId] = ((PkmnAttackMoveAction) move).getMove(); 
+			selectedMove[playerId] = attack; 
 			hasMoved[playerId]= true; 
 
 			// tell all players that the game's state has changed
+			stateChanged();
 			notifyAllStateChanged();
 		}
 
@@ -358,9 +616,6 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 		if (allHaveMoved){
 			boolean battleExe = executeBattle();
 
-			//reset hasMoved
-			for(int i=0;i<hasMoved.length;i++) hasMoved[i]=false;
-
 			if (!battleExe)return false;
 		}
 		return true;
@@ -374,38 +629,45 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	 */
 	private boolean checkWinner() {
 
-		//array to represent each player and whether all there pokemon are dead
-		boolean[] allDead = new boolean[pokemonTeam.size()];
+		// while more than one player has pokemon left, no one has won
+		if (teamsAlive > 1) return false;
 
-		//assume they are all dead unless proven otherwise
-		for(int i=0;i<allDead.length;i++) allDead[i]=true;
-
-		//checks each pokemon of each player
-		for (int indexThisPlayer=0;indexThisPlayer<pokemonTeam.size();indexThisPlayer++){
-			Vector<PkmnPokemon> thisPlayer= pokemonTeam.get(indexThisPlayer);
-			//check each pokemon
-			for(int indexThisPkmn=0;indexThisPkmn<thisPlayer.size();indexThisPkmn++){
-				int thisPkmnCurrHP = currHP.get(indexThisPlayer)
-				.get(indexThisPkmn);
-
-				//if a pokemons HP is above 0 then they are not all dead
-				if (thisPkmnCurrHP > 0){
-					allDead[indexThisPlayer]=false;
-				}
-			}
+		// if exactly one player has pokemon left, they win; the sum of
+		// the ids of the players left is then that player's id
+		if (teamsAlive == 1){
+			gameWinner = aliveTeamSum;
 		}
+		return true;
+	}
 
-		// determines if there  is a winner 
-		if (!allDead[0] && allDead[1]){
-			gameWinner=0;
-		}
-		else if (allDead[0] && !allDead[1]){
-			gameWinner=1;
+	/**
+	 * sets the HP of one of a player's pokemon, keeping count of how many
+	 * pokemon, and players, have HP left
+	 *
+	 * @param player the id of the player
+	 * @param slot the pokemon's slot in the player's team
+	 * @param hp the pokemon's new HP
+	 */
+	private void setHP(int player, int slot, int hp) {
+		boolean wasAlive = currHP[player][slot] > 0;
+		boolean isAlive = hp > 0;
+		currHP[player][slot] = hp;
+		statsChanged = true;
+
+		// only a pokemon fainting or being revived changes the counts
+		if (wasAlive == isAlive) return;
+		if (isAlive){
+			if (aliveCount[player]++ == 0){
+				teamsAlive++;
+				aliveTeamSum += player;
+			}
 		}
-		else if (!allDead[0] && !allDead[1]){
-			return false;
+		else{
+			if (--aliveCount[player] == 0){
+				teamsAlive--;
+				aliveTeamSum -= player;
+			}
 		}
-		return true;
 	}
 
 	/**
@@ -423,12 +685,16 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 			firstPl=1;
 			secondPl=0;
 		}
+		turn++;
+		firstPlayer = firstPl;
 
-		//Pause to let the human players see what happens better.
-		try{
-			Thread.sleep(500);
-		}
-		catch(InterruptedException ie) {}
+		//reset hasMoved; the moves are in selectedMove
+		for(int i=0;i<hasMoved.length;i++) hasMoved[i]=false;
+		//the attacks use PP, and may change HP
+		statsChanged = true;
+
+		//Let the clock pace the battle for anyone watching.
+		pacingClock.beforeAttack(firstPl, turn);
 
 		battleSuccess = attack(firstPl, secondPl, battleSuccess);
 		// checks for winner if returns false than neither player has living pokemon
@@ -436,27 +702,53 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 
 		//quits attack action if someone has already won
 		if(gameWinner != -1){
+			endBattle();
 			// tell both players that the game's state has changed
+			stateChanged();
 			notifyAllStateChanged();
 			return battleSuccess;
 		}
 
-		//Pause to let the human players see what happens better.
-		try{
-			Thread.sleep(500);
-		}
-		catch(InterruptedException ie) {}
+		//Let the clock pace the battle for anyone watching.
+		pacingClock.beforeAttack(secondPl, turn);
 
 		battleSuccess = attack(secondPl, firstPl, battleSuccess);
 		// checks for winner if returns false than neither player has living pokemon
 		successWinCheck = checkWinner();
+		if(gameWinner != -1) endBattle();
+
+		//the next turn starts now
+		turnStartedAt = System.currentTimeMillis();
 
 		// tell both players that the game's state has changed
+		stateChanged();
 		notifyAllStateChanged();
 
 		return battleSuccess;
 	}
 
+	/**
+	 * Logs the end of the battle, if it is being logged, and stops the
+	 * turn timer, if there is one.
+	 */
+	private void endBattle()
+	{
+		battleEnded = true;
+		if (eventLog != null) eventLog.end(gameWinner, turn);
+		if (turnTimer != null) turnTimer.stop();
+	}
+
+	/**
+	 * Ends a battle that has no winner, e.g., because it went on too long
+	 * or neither Pokemon has PP left, so that its log shows a draw rather
+	 * than a battle that was cut off.  Does nothing if the battle has
+	 * already ended.
+	 */
+	void endInDraw()
+	{
+		if (!battleEnded && gameWinner == -1) endBattle();
+	}
+
 	/**
 	 * Performs an attack and adjusts stats accordingly.
 	 * 
@@ -468,37 +760,19 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	public boolean attack(int player, int opponent, boolean battleSuccess)
 	{
 		//index of the given move in the move set array
-		int moveIndex = 0;
-
-		//Finds the moves in the Pokemon's moveset
-		for (int i = 0; i < currPokemon.get(player).moveset.length; i++)
-		{
-			if (currPokemon.get(player).moveset[i].equals(selectedMove[player]))
-				moveIndex = i;
-		}
+		int moveIndex = Math.max(0, PkmnDamageTable.moveIndex(currPokemon.get(player), selectedMove[player]));
 
 		//index of Attackers currPokemon out of the pokemon Team
-		int indexOfAttPkmn=0;
-		// finds the defenders pokemon out of the pokemon Team and updates HP and PP
-		PkmnPokemon AttPokemon = currPokemon.get(player);
-		for (PkmnPokemon thisPkmn : pokemonTeam.get(player)) {
-			if (thisPkmn.toString().equals(AttPokemon.toString())) {
-				indexOfAttPkmn = pokemonTeam.get(player).indexOf(thisPkmn);
-			}
-		}
+		int indexOfAttPkmn = teamIndex.getCurrSlot(player);
 
-		//index of defenders currPokemon
-		int indexOfDefPkmn=0;
-		// finds the defenders pokemon out of the pokemon Team
-		PkmnPokemon DefPokemon = currPokemon.get(opponent);
-		for (PkmnPokemon thisPkmn : pokemonTeam.get(opponent)) {
-			if (thisPkmn.toString().equals(DefPokemon.toString())) {
-				indexOfDefPkmn = pokemonTeam.get(opponent).indexOf(thisPkmn);
-			}
-		}
+		//index of defenders currPokemon out of the pokemon Team
+		int indexOfDefPkmn = teamIndex.getCurrSlot(opponent);
 
 		// make sure no one has won 
 		if (gameWinner == -1) {
+			lastRoll = 0;
+			lastCrit = 1;
+			lastDamage = 0;
 
 			//Do slightly different things depending on the op code of the move.
 			switch(selectedMove[player].getOpCode())
@@ -521,6 +795,13 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 				standardAttack(player, opponent,moveIndex,indexOfAttPkmn,indexOfDefPkmn);
 				break;
 			}
+
+			if (eventLog != null){
+				int flags = (missedAttack[player] ? 0 : PkmnEventLog.HIT)
+					| (lastCrit == 2 ? PkmnEventLog.CRIT : 0);
+				eventLog.attack(player, firstPlayer, selectedMove[player], flags, lastRoll, lastDamage,
+						currHP[player][indexOfAttPkmn], currHP[opponent][indexOfDefPkmn], turn);
+			}
 		}
 
 		return battleSuccess;
@@ -539,20 +820,19 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	public void standardAttack(int player, int opponent,int moveIndex,int indexOfAttPkmn,int indexOfDefPkmn)
 	{
 		// Check to see if the attack hits first.
-		if (Math.random() * 100 + .01 < selectedMove[player].getAccuracy()) {
+		if (checkIfHit(selectedMove[player])) {
 			int attckDamage = calcDamage(player, opponent,
 					selectedMove[player]);
 
 			// current HP of given pokemon
-			int prevHP = currHP.get(opponent).get(indexOfDefPkmn)
-			.intValue();
+			int prevHP = currHP[opponent][indexOfDefPkmn];
 			// update health
 			if (prevHP - attckDamage < 0)
-				currHP.get(opponent).setElementAt(0, indexOfDefPkmn);
+				setHP(opponent, indexOfDefPkmn, 0);
 			else
-				currHP.get(opponent).setElementAt(new Integer(prevHP - attckDamage), indexOfDefPkmn);
+				setHP(opponent, indexOfDefPkmn, prevHP - attckDamage);
 			// update PP
-			currMovePP.get(player).get(indexOfAttPkmn)[moveIndex] -= 1;
+			currMovePP[player][indexOfAttPkmn][moveIndex] -= 1;
 			//The attack hit
 			missedAttack[player] = false;
 		}
@@ -575,14 +855,14 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 		int halfMaxHP = playerPkmn.hp/2;
 
 		// current HP of given pokemon
-		int prevHP = currHP.get(player).get(indexOfAttPkmn).intValue();
+		int prevHP = currHP[player][indexOfAttPkmn];
 		// update health
 		if (prevHP + halfMaxHP > playerPkmn.hp)
-			currHP.get(player).setElementAt(playerPkmn.hp, indexOfAttPkmn);
+			setHP(player, indexOfAttPkmn, playerPkmn.hp);
 		else
-			currHP.get(player).setElementAt(new Integer(prevHP + halfMaxHP), indexOfAttPkmn);
+			setHP(player, indexOfAttPkmn, prevHP + halfMaxHP);
 		// update PP
-		currMovePP.get(player).get(indexOfAttPkmn)[moveIndex] -= 1;
+		currMovePP[player][indexOfAttPkmn][moveIndex] -= 1;
 
 		//attack always hits
 		missedAttack[player] = false;
@@ -608,14 +888,14 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 			int halfMaxHP = playerPkmn.hp/2;
 
 			// current HP of given pokemon
-			int prevHP = currHP.get(player).get(indexOfAttPkmn).intValue();
+			int prevHP = currHP[player][indexOfAttPkmn];
 			// update health
 			if (prevHP + halfMaxHP > playerPkmn.hp)
-				currHP.get(player).setElementAt(playerPkmn.hp, indexOfAttPkmn);
+				setHP(player, indexOfAttPkmn, playerPkmn.hp);
 			else
-				currHP.get(player).setElementAt(new Integer(prevHP + halfMaxHP), indexOfAttPkmn);
+				setHP(player, indexOfAttPkmn, prevHP + halfMaxHP);
 			// update PP
-			currMovePP.get(player).get(indexOfAttPkmn)[moveIndex] -= 1;
+			currMovePP[player][indexOfAttPkmn][moveIndex] -= 1;
 		}
 
 		//attack always hits
@@ -639,25 +919,24 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 		PkmnPokemon playerPkmn = currPokemon.get(player);
 
 		// Check to see if the attack hits first.
-		if (Math.random() * 100 + .01 < selectedMove[player].getAccuracy()) {
+		if (checkIfHit(selectedMove[player])) {
 			int attackDamage = calcDamage(player, opponent,
 					selectedMove[player]);
 
 			// current HP of given pokemon
-			int prevHP = currHP.get(opponent).get(indexOfDefPkmn)
-			.intValue();
+			int prevHP = currHP[opponent][indexOfDefPkmn];
 			// update opponent health
 			if (prevHP - attackDamage < 0)
-				currHP.get(opponent).setElementAt(0, indexOfDefPkmn);
+				setHP(opponent, indexOfDefPkmn, 0);
 			else
-				currHP.get(opponent).setElementAt(new Integer(prevHP - attackDamage), indexOfDefPkmn);
+				setHP(opponent, indexOfDefPkmn, prevHP - attackDamage);
 			//update player health
 			if (prevHP + attackDamage/2 > playerPkmn.hp)
-				currHP.get(player).setElementAt(playerPkmn.hp, indexOfAttPkmn);
+				setHP(player, indexOfAttPkmn, playerPkmn.hp);
 			else
-				currHP.get(player).setElementAt(new Integer(prevHP + attackDamage/2), indexOfAttPkmn);
+				setHP(player, indexOfAttPkmn, prevHP + attackDamage/2);
 			// update PP
-			currMovePP.get(player).get(indexOfAttPkmn)[moveIndex] -= 1;
+			currMovePP[player][indexOfAttPkmn][moveIndex] -= 1;
 			//The attack hit
 			missedAttack[player] = false;
 
@@ -669,6 +948,8 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 
 	/**
 	 * Calculates the damage that a PkmnMove does in battle.
+	 * Everything is done in whole numbers, so the same
+	 * random numbers always give the same damage.
 	 * 
 	 * @param player
 	 * @param opponent
@@ -677,89 +958,53 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	 */
 	public int calcDamage(int player, int opponent, PkmnMove move)
 	{
-		//For this program's purposes this is always 100.
-		double level = 100;
-
-		//First two terms used in the damage
-		// calculation equation.
-		double term1 = (2*level+10)/250;
-		double term2 = 1;
+		PkmnPokemon playerPkmn= currPokemon.elementAt(player);
+		PkmnPokemon opponentPkmn= currPokemon.elementAt(opponent);
 
-		//Alter term two based on if the move is
-		// a Physical or Special move.
-		if (move.getBase() == 0)
-		{
-			term2 = currPokemon.elementAt(player).atk / currPokemon.elementAt(opponent).def;
+		//The level, attack/defense ratio and power never change,
+		// and neither do STAB (Same Type Attack Bonus) and how
+		// effective the move is against both of the opponent's
+		// types, so they come from the damage table.
+		int moveIndex = PkmnDamageTable.moveIndex(playerPkmn, move);
+		int baseDamage;
+		int typeMod;
+		if (moveIndex >= 0) {
+			baseDamage = PkmnDamageTable.getBaseDamageFixed(playerPkmn, opponentPkmn, moveIndex);
+			typeMod = PkmnDamageTable.getTypeModifierFixed(playerPkmn, opponentPkmn, moveIndex);
 		}
-		else if (move.getBase() == 1)
-		{
-			double specialA = currPokemon.elementAt(player).spa;
-			double specialD = currPokemon.elementAt(opponent).spd;
-			term2 = specialA / specialD;
+		else {
+			baseDamage = PkmnDamageTable.calcBaseDamageFixed(playerPkmn, opponentPkmn, move);
+			typeMod = PkmnDamageTable.calcTypeModifierFixed(playerPkmn, opponentPkmn, move);
 		}
 
-		//Multiply the terms together with the move's power
-		double totalDamage = (term1*term2*move.getPower() + 2);
-
-		//Multiply the total by other modifications
-		// the level of damage can go through.
-		totalDamage *= calcMod(player, opponent, move);
-
-		return (int)totalDamage;
-
+		//The random roll comes before the critical hit.
+		lastRoll = rollDamage();
+		lastCrit = checkIfCrit(move);
+		lastDamage = PkmnDamageTable.damage(baseDamage, typeMod, lastCrit, lastRoll);
+		return lastDamage;
 	}
 
 	/**
-	 * Calculate the numbers associated
-	 * with the different modifications
-	 * a move's damage can have.
+	 * Rolls the random part of a move's damage.
 	 * 
-	 * @param player
-	 * @param opponent
-	 * @param move
-	 * @return mod
+	 * @return a percentage from 85 to 100
 	 */
-	public double calcMod(int player, int opponent, PkmnMove move)
+	public int rollDamage()
 	{
-		double mod;
-		double STAB;
-		double typeEffect;
-		double typeEffect2;
-		double random = 0;
-		PkmnPokemon playerPkmn= currPokemon.elementAt(player);
-		PkmnPokemon opponentPkmn= currPokemon.elementAt(opponent);
-
-		//If the move type and Pokemon type match,
-		// damage gets a bonus called STAB
-		// (Same Type Attack Bonus).
-
-		if (move.getType().equals(playerPkmn.getType1()) ||
-				move.getType().equals(playerPkmn.getType2()))
-			STAB = 1.5;
-		else
-			STAB = 1.0;
-
-		typeEffect = typeEffectiveness[move.getType().getNum()]
-		                               [opponentPkmn.getType1().getNum()];
-
-		//Random number with a range of [.85, 1.00]
-		while(random < .85)
-		{
-			random = Math.random() + 0.01;
-		}
-
-		//If the opponent's Pokemon has a secondary type,
-		// include it in the calculation.
-		if (opponentPkmn.getType2().getNum() > 16)
-			mod = STAB * typeEffect * checkIfCrit(move) * random;
-		else
-		{
-			typeEffect2 = typeEffectiveness[move.getType().getNum()]
-			                                [opponentPkmn.getType2().getNum()];
-			mod = STAB * typeEffect * typeEffect2 * checkIfCrit(move) * random;
-		}
+		return PkmnDamageTable.ROLL_MIN
+			+ random.nextInt(PkmnDamageTable.ROLL_MAX - PkmnDamageTable.ROLL_MIN + 1);
+	}
 
-		return mod;
+	/**
+	 * Check to see if the move hits.
+	 * A move hits as many times out of 100
+	 * as its accuracy.
+	 * 
+	 * @return true if the move hits
+	 */
+	public boolean checkIfHit(PkmnMove move)
+	{
+		return random.nextInt(100) < move.getAccuracy();
 	}
 
 	/**
@@ -771,7 +1016,7 @@ public class PkmnGameImpl extends GameImpl implements PkmnGame
 	 */
 	public int checkIfCrit(PkmnMove move)
 	{
-		int crit = (int) (Math.random()*1000);
+		int crit = random.nextInt(1000);
 
 		//If the move has a higher critical-hit chance
 		if (move.getOpCode() == 4)
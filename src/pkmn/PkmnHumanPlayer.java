@@ -45,6 +45,13 @@ public class PkmnHumanPlayer extends GameHumanPlayer implements PkmnPlayer, Mous
 	private int playerFrame;
 	private int opponentFrame;
 
+	//the HP shown in each player's health bar, which moves towards the
+	//pokemon's real HP a little each frame so the player can follow the
+	//attacks; -1 until the battle starts
+	private double[] shownHP = {-1, -1};
+	//the most a health bar moves in one frame, as a fraction of the full bar
+	private static final double HP_STEP = 0.08;
+
 	//Images for GUI
 	private Image background;
 	private Image move;
@@ -375,7 +382,7 @@ public class PkmnHumanPlayer extends GameHumanPlayer implements PkmnPlayer, Mous
 		// of the rectangle to paint.
 		//Player's health
 		double maxHP = st.getCurrPokemon(getId()).hp;
-		double currentHP = st.getCurrHP(getId());
+		double currentHP = shownHP(getId());
 		double maxLength = 280;
 
 		double percent = currentHP/maxHP;
@@ -394,7 +401,7 @@ public class PkmnHumanPlayer extends GameHumanPlayer implements PkmnPlayer, Mous
 			opponentId = 0;
 
 		maxHP = st.getCurrPokemon(opponentId).hp;
-		currentHP = st.getCurrHP(opponentId);
+		currentHP = shownHP(opponentId);
 
 		percent = currentHP/maxHP;
 		length = (int)(maxLength*percent);
@@ -406,6 +413,17 @@ public class PkmnHumanPlayer extends GameHumanPlayer implements PkmnPlayer, Mous
 		g.setColor(Color.WHITE);
 	}
 
+	/**
+	 * Gets the HP to show in a player's health bar
+	 * 
+	 * @param player the 0/1 id of the player
+	 * @return the HP, as it is being animated
+	 */
+	private double shownHP(int player)
+	{
+		return (shownHP[player] < 0) ? st.getCurrHP(player) : shownHP[player];
+	}
+
 	/**
 	 * Draws the move description of the move in the parameter.
 	 * 
@@ -531,6 +549,13 @@ public class PkmnHumanPlayer extends GameHumanPlayer implements PkmnPlayer, Mous
 	public void tickFrame(){
 		playerFrame++;
 		opponentFrame++;
+		//move the health bars towards the real HP
+		for (int i = 0; i < shownHP.length; i++){
+			double target = st.getCurrHP(i);
+			double step = st.getCurrPokemon(i).hp * HP_STEP;
+			if (shownHP[i] < 0 || Math.abs(target - shownHP[i]) <= step) shownHP[i] = target;
+			else shownHP[i] += (target > shownHP[i]) ? step : -step;
+		}
 		//Get the number of frames of player's Pokemon
 		int playerNumFrames= st.getCurrPokemon(getId()).getAnimationFrames().size();
 		if(playerFrame>=playerNumFrames){
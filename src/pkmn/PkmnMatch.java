@@ -0,0 +1,219 @@
+package pkmn;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import game.*;
+
+/**
+ * One match run by a PkmnMatchHost: its game, its players, and what it
+ * has cost so far.  The time and CPU a match uses are those of its game's
+ * own thread; players do their work on threads that are shared between
+ * matches.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnMatch implements Runnable
+{
+	//measures the CPU used by the thread running the match
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	//the number the host gave this match
+	private int id;
+	//the game and its players
+	private PkmnGameImpl game;
+	private GamePlayer[] players;
+	//who to tell when the match starts and finishes, if anyone
+	private GameListener listener;
+	//when the match was created, started and finished (System.nanoTime)
+	private long createdAt;
+	private volatile long startedAt;
+	private volatile long finishedAt;
+	//the CPU the match's thread used, in nanoseconds, once it has finished
+	private volatile long cpuNanos;
+	//released when the match has finished
+	private CountDownLatch done;
+
+	/**
+	 * Constructor for a PkmnMatch
+	 *
+	 * @param id the number of the match
+	 * @param game the game to play
+	 * @param players the players of the game
+	 * @param listener who to tell when the match starts and finishes, or null
+	 */
+	public PkmnMatch(int id, PkmnGameImpl game, GamePlayer[] players, GameListener listener)
+	{
+		this.id = id;
+		this.game = game;
+		this.players = players.clone();
+		this.listener = listener;
+		createdAt = System.nanoTime();
+		startedAt = 0;
+		finishedAt = 0;
+		cpuNanos = 0;
+		done = new CountDownLatch(1);
+	}
+
+	/**
+	 * Plays the match to the end on this thread.
+	 */
+	public void run()
+	{
+		long cpuStart = cpuTime();
+		game.setGameListener(new GameListener() {
+			public void gameStarted(Game g)
+			{
+				startedAt = System.nanoTime();
+				if (listener != null) listener.gameStarted(g);
+			}
+
+			public void gameFinished(Game g)
+			{
+				//counted in the finally below, which also covers games
+				//that stop without finishing
+			}
+		});
+		try
+		{
+			game.playGame();
+		}
+		finally
+		{
+			cpuNanos = cpuTime() - cpuStart;
+			finishedAt = System.nanoTime();
+			done.countDown();
+			if (listener != null) listener.gameFinished(game);
+		}
+	}
+
+	/**
+	 * Gets the CPU time used by this thread so far, if it can be measured.
+	 *
+	 * @return the CPU time in nanoseconds, or 0
+	 */
+	private static long cpuTime()
+	{
+		return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+	}
+
+	/**
+	 * Waits for the match to finish.
+	 *
+	 * @param millis the longest to wait, in milliseconds
+	 * @return true if the match has finished
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean await(long millis) throws InterruptedException
+	{
+		return done.await(millis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Get the number of the match.
+	 *
+	 * @return id
+	 */
+	public int getId() { return id; }
+
+	/**
+	 * Get the match's game.
+	 *
+	 * @return game
+	 */
+	public PkmnGameImpl getGame() { return game; }
+
+	/**
+	 * Get the match's players.
+	 *
+	 * @return a copy of the players
+	 */
+	public GamePlayer[] getPlayers() { return players.clone(); }
+
+	/**
+	 * Get whether all the players were ready and the match started.
+	 *
+	 * @return true if the match has started
+	 */
+	public boolean isStarted() { return startedAt != 0; }
+
+	/**
+	 * Get whether the match has finished.
+	 *
+	 * @return true if the match has finished
+	 */
+	public boolean isFinished() { return done.getCount() == 0; }
+
+	/**
+	 * Get the winner of the match.
+	 *
+	 * @return the id of the winning player, or -1 if there is none (yet)
+	 */
+	public int getWinner()
+	{
+		return isStarted() ? ((PkmnState)game.getState(null, 0)).gameWinner() : -1;
+	}
+
+	/**
+	 * Get how long the match has taken, from being created until it
+	 * finished (or until now, if it has not).
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getWallNanos()
+	{
+		return (isFinished() ? finishedAt : System.nanoTime()) - createdAt;
+	}
+
+	/**
+	 * Get how much CPU time the match's thread used.
+	 *
+	 * @return the time in nanoseconds, or 0 until the match has finished
+	 */
+	public long getCpuNanos() { return cpuNanos; }
+
+	/**
+	 * Get how many actions the players sent that the game accepted.
+	 *
+	 * @return the number of actions accepted
+	 */
+	public long getActions() { return game.getActionInbox().getAccepted(); }
+
+	/**
+	 * Get how many actions the game rejected for being sent too fast.
+	 *
+	 * @return the number of actions rejected
+	 */
+	public long getRejectedActions() { return game.getActionInbox().getRejected(); }
+
+	/**
+	 * Get the most actions that were waiting for the game at once.
+	 *
+	 * @return the peak depth of the game's inbox
+	 */
+	public int getPeakActionDepth() { return game.getActionInbox().getPeakDepth(); }
+
+	/**
+	 * Get how many times the game's state changed.
+	 *
+	 * @return the game's state version
+	 */
+	public long getStateChanges() { return game.getStateVersion(); }
+
+	/**
+	 * Returns a one-line summary of the match and what it has cost.
+	 *
+	 * @return the summary
+	 */
+	public String toString()
+	{
+		return String.format("match %d: %s, winner %d, %.1f ms, cpu %.1f ms, %d actions"
+				+ " (%d rejected, peak %d waiting), %d state changes",
+				id, isFinished() ? "finished" : isStarted() ? "running" : "waiting",
+				getWinner(), getWallNanos() / 1e6, getCpuNanos() / 1e6, getActions(),
+				getRejectedActions(), getPeakActionDepth(), getStateChanges());
+	}
+}
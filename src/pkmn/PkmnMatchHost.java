@@ -0,0 +1,173 @@
+package pkmn;
+
+import java.util.Vector;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import game.*;
+
+/**
+ * Runs many Pokemon matches at once in one program.  Each match plays on
+ * a thread from the host's pool, and all matches notify their players on
+ * one shared executor, so a thousand matches do not need a thousand sets
+ * of threads.  The Pokemon, their images and the damage and type tables
+ * are loaded once per program and shared by every match.
+ *
+ * A finished match does not end the program: the host's listener is told
+ * instead, and the match's costs can be read from its PkmnMatch.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnMatchHost
+{
+	//the threads the matches play on
+	private ExecutorService matchPool;
+	//the threads every match notifies its players on
+	private ExecutorService notifierPool;
+	//who to tell when matches start and finish, if anyone
+	private GameListener listener;
+	//the matches that have not yet finished
+	private ConcurrentHashMap<Integer, PkmnMatch> running;
+	//the number of matches started, and finished
+	private AtomicInteger started;
+	private AtomicInteger finished;
+
+	/**
+	 * Constructor for a PkmnMatchHost
+	 */
+	public PkmnMatchHost()
+	{
+		matchPool = Executors.newCachedThreadPool(daemonThreads("pkmn-match"));
+		notifierPool = Executors.newCachedThreadPool(daemonThreads("pkmn-notifier"));
+		listener = null;
+		running = new ConcurrentHashMap<Integer, PkmnMatch>();
+		started = new AtomicInteger(0);
+		finished = new AtomicInteger(0);
+	}
+
+	/**
+	 * Makes a factory for named threads that do not keep the program running.
+	 *
+	 * @param name the name of the threads
+	 * @return the factory
+	 */
+	private static ThreadFactory daemonThreads(final String name)
+	{
+		return new ThreadFactory() {
+			public Thread newThread(Runnable r)
+			{
+				Thread t = new Thread(r, name);
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+	/**
+	 * Sets who to tell when matches start and finish.  The listener is
+	 * called on the matches' threads, so must be thread-safe.
+	 *
+	 * @param listener the listener, or null
+	 */
+	public void setGameListener(GameListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * Starts a match between two players in a new game.
+	 *
+	 * @param player0 player 0
+	 * @param player1 player 1
+	 * @return the match
+	 */
+	public PkmnMatch startMatch(GamePlayer player0, GamePlayer player1)
+	{
+		return startMatch(new PkmnGameImpl(2), new GamePlayer[] {player0, player1});
+	}
+
+	/**
+	 * Starts a match in a game that has been set up, e.g., with its own
+	 * seed or time limits.
+	 *
+	 * @param game the game to play
+	 * @param players the game's players
+	 * @return the match
+	 * @throws IllegalArgumentException if the players cannot play the game
+	 * @throws RejectedExecutionException if the host has been shut down
+	 */
+	public PkmnMatch startMatch(PkmnGameImpl game, GamePlayer[] players)
+	{
+		if (matchPool.isShutdown()) throw new RejectedExecutionException("host has been shut down");
+		String msg = game.setPlayers(players);
+		if (msg != null) throw new IllegalArgumentException(msg);
+		game.setNotifierExecutor(notifierPool);
+		for (int i = 0; i < players.length; i++)
+		{
+			if (players[i] != null) players[i].setGame(game, i);
+		}
+
+		final int id = started.incrementAndGet();
+		PkmnMatch match = new PkmnMatch(id, game, players, new GameListener() {
+			public void gameStarted(Game g)
+			{
+				GameListener l = listener;
+				if (l != null) l.gameStarted(g);
+			}
+
+			public void gameFinished(Game g)
+			{
+				running.remove(id);
+				finished.incrementAndGet();
+				GameListener l = listener;
+				if (l != null) l.gameFinished(g);
+			}
+		});
+		running.put(id, match);
+		matchPool.execute(match);
+		return match;
+	}
+
+	/**
+	 * Gets the matches that have not yet finished.
+	 *
+	 * @return the running matches
+	 */
+	public Vector<PkmnMatch> getRunningMatches()
+	{
+		return new Vector<PkmnMatch>(running.values());
+	}
+
+	/**
+	 * Get how many matches have been started.
+	 *
+	 * @return started
+	 */
+	public int getStarted() { return started.get(); }
+
+	/**
+	 * Get how many matches have finished.
+	 *
+	 * @return finished
+	 */
+	public int getFinished() { return finished.get(); }
+
+	/**
+	 * Stops starting matches, waits for the running ones to finish, and
+	 * stops any that do not finish in time.
+	 *
+	 * @param millis how long to wait for the running matches
+	 * @return the number of matches that had to be stopped
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public int shutdown(long millis) throws InterruptedException
+	{
+		matchPool.shutdown();
+		matchPool.awaitTermination(millis, TimeUnit.MILLISECONDS);
+		int stopped = running.size();
+		matchPool.shutdownNow();
+		notifierPool.shutdown();
+		return stopped;
+	}
+}
@@ -0,0 +1,141 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import game.*;
+
+/**
+ * Test class for PkmnMatchHost.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnMatchHostTest
+{
+	//Instance of PkmnMatchHost to use for testing.
+	PkmnMatchHost host = null;
+
+	@Before
+	/**
+	 * Create a host to test with.
+	 */
+	public void setUp()
+	{
+		host = new PkmnMatchHost();
+	}
+
+	@Test
+	/**
+	 * Make sure several matches play to the end in one program, each
+	 * reporting what it cost, without the program exiting.
+	 */
+	public void testMatchesFinish() throws InterruptedException
+	{
+		PkmnMatch[] matches = new PkmnMatch[4];
+		for (int i = 0; i < matches.length; i++)
+		{
+			PkmnGameImpl game = new PkmnGameImpl(2, i);
+			game.setBattlePause(0);
+			matches[i] = host.startMatch(game, new GamePlayer[] {
+					new Bot(PkmnPokemon.Mewtwo), new Bot(PkmnPokemon.Pikachu)});
+		}
+		for (PkmnMatch match : matches)
+		{
+			assertTrue(match.await(30000));
+			assertTrue(match.isStarted());
+			assertTrue(match.getWinner() == 0);
+			assertTrue(match.getActions() >= 4);
+			assertTrue(match.getRejectedActions() == 0);
+			assertTrue(match.getStateChanges() > 0);
+		}
+		assertTrue(host.shutdown(1000) == 0);
+		assertTrue(host.getStarted() == 4);
+		assertTrue(host.getFinished() == 4);
+		assertTrue(host.getRunningMatches().isEmpty());
+	}
+
+	@Test
+	/**
+	 * Make sure a player who never attacks is made to attack once the
+	 * turn time limit runs out, so the match still ends.
+	 */
+	public void testTurnTimeLimit() throws InterruptedException
+	{
+		PkmnGameImpl game = new PkmnGameImpl(2, 1L);
+		game.setBattlePause(0);
+		game.setTurnTimeLimit(50);
+		PkmnMatch match = host.startMatch(game, new GamePlayer[] {
+				new Bot(PkmnPokemon.Mewtwo), new Bot(PkmnPokemon.Pikachu, true)});
+		assertTrue(match.await(30000));
+		assertTrue(match.getWinner() == 0);
+		assertTrue(game.getTimerEvents() > 0);
+	}
+
+	/**
+	 * A player that picks one Pokemon and always uses its first move with
+	 * PP left, without pausing, or never attacks at all.
+	 */
+	static class Bot extends GameComputerPlayer
+	{
+		//the Pokemon to pick
+		private PkmnPokemon pokemon;
+		//whether it has been picked
+		private boolean picked;
+		//whether it never attacks
+		private boolean idle;
+
+		/**
+		 * Constructor for a Bot
+		 *
+		 * @param pokemon the Pokemon to pick
+		 */
+		Bot(PkmnPokemon pokemon)
+		{
+			this(pokemon, false);
+		}
+
+		/**
+		 * Constructor for a Bot that may never attack
+		 *
+		 * @param pokemon the Pokemon to pick
+		 * @param idle whether it never attacks
+		 */
+		Bot(PkmnPokemon pokemon, boolean idle)
+		{
+			this.pokemon = pokemon;
+			this.idle = idle;
+			picked = false;
+		}
+
+		/**
+		 * Picks the Pokemon when the game starts.
+		 */
+		public synchronized void stateChanged()
+		{
+			PkmnState st = (PkmnState)game.getState(this, 0);
+			if (st.isPkmnSelect() && !picked)
+			{
+				picked = true;
+				game.applyAction(new PkmnSelectMoveAction(this, pokemon));
+			}
+		}
+
+		/**
+		 * Uses the first move with PP left.
+		 */
+		protected void doRequestMove()
+		{
+			PkmnState st = (PkmnState)game.getState(this, 0);
+			if (idle || st.isPkmnSelect() || st.gameWinner() >= 0) return;
+			for (PkmnMove move : pokemon.moveset)
+			{
+				if (st.getCurrMovePP(getId(), move) > 0)
+				{
+					sendMove(new PkmnAttackMoveAction(this, move));
+					return;
+				}
+			}
+		}
+	}
+}
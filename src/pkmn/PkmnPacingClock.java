@@ -0,0 +1,30 @@
+package pkmn;
+
+/**
+ * Decides how a battle is paced for the people watching it.  The game
+ * asks its clock before every attack; a clock may wait there so that a
+ * watcher can follow each attack, or return at once.  The battle itself
+ * is the same either way.
+ *
+ * A game's clock runs on the game's thread, so any time it waits, the
+ * game (and anything else sharing its thread) waits too.  Servers and
+ * simulations should use NONE and leave pacing to their players' screens.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public interface PkmnPacingClock
+{
+	//a clock that never waits
+	public static final PkmnPacingClock NONE = new PkmnPacingClock() {
+		public void beforeAttack(int player, int turn) {}
+	};
+
+	/**
+	 * Called just before a player attacks.
+	 *
+	 * @param player the 0/1 id of the attacking player
+	 * @param turn the turn, counting from 1
+	 */
+	public void beforeAttack(int player, int turn);
+}
@@ -0,0 +1,289 @@
+package pkmn;
+
+import java.util.Vector;
+
+/**
+ * The state of a one-on-one battle packed into two longs, so that it can
+ * be compared, hashed and copied without allocating, e.g., to store
+ * millions of positions in a table.  Two states are equal exactly when
+ * they describe the same position.
+ *
+ * The high long holds, from the lowest bit up: each player's Pokemon
+ * (its ordinal + 1, or 0 before it has been chosen; 6 bits each), each
+ * Pokemon's HP (10 bits each), hasMoved and missedAttack for each player,
+ * isPkmnSelect (1 bit each), and gameWinner + 1 (2 bits).  The low long
+ * holds the PP of each move, 8 bits each: player 0's four moves in
+ * moveset order, then player 1's.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnPackedState
+{
+	//where each field starts in the high long, and how many bits it has
+	private static final int SPECIES_SHIFT = 0;
+	private static final int SPECIES_BITS = 6;
+	private static final int HP_SHIFT = 12;
+	private static final int HP_BITS = 10;
+	private static final int HAS_MOVED_SHIFT = 32;
+	private static final int MISSED_SHIFT = 34;
+	private static final int SELECT_SHIFT = 36;
+	private static final int WINNER_SHIFT = 37;
+	//how many bits each move's PP has in the low long
+	private static final int PP_BITS = 8;
+
+	//the packed state
+	private long high;
+	private long low;
+
+	/**
+	 * Constructor for an empty PkmnPackedState
+	 */
+	public PkmnPackedState()
+	{
+		high = 0;
+		low = 0;
+	}
+
+	/**
+	 * Constructor for a PkmnPackedState from its two longs.
+	 *
+	 * @param high the high long
+	 * @param low the low long
+	 */
+	public PkmnPackedState(long high, long low)
+	{
+		this.high = high;
+		this.low = low;
+	}
+
+	/**
+	 * Constructor for a PkmnPackedState of a battle's state.
+	 *
+	 * @param st the state to pack
+	 */
+	public PkmnPackedState(PkmnState st)
+	{
+		encode(st);
+	}
+
+	/**
+	 * Packs a battle's state into this object, replacing what it held.
+	 *
+	 * @param st the state to pack
+	 */
+	public void encode(PkmnState st)
+	{
+		long h = 0;
+		long l = 0;
+		for (int player = 0; player < 2; player++)
+		{
+			//the Pokemon are only known once both have been chosen
+			if (!st.isPkmnSelect())
+			{
+				PkmnPokemon pokemon = st.getCurrPokemon(player);
+				h |= (long)(pokemon.ordinal() + 1) << (SPECIES_SHIFT + player*SPECIES_BITS);
+				h |= (long)st.getCurrHP(player) << (HP_SHIFT + player*HP_BITS);
+				for (int m = 0; m < 4; m++)
+				{
+					l |= (long)st.getCurrMovePP(player, pokemon.moveset[m]) << ((player*4 + m)*PP_BITS);
+				}
+			}
+			if (st.getHasMoved(player)) h |= 1L << (HAS_MOVED_SHIFT + player);
+			if (st.getMissedAttack()[player]) h |= 1L << (MISSED_SHIFT + player);
+		}
+		if (st.isPkmnSelect()) h |= 1L << SELECT_SHIFT;
+		h |= (long)(st.gameWinner() + 1) << WINNER_SHIFT;
+
+		high = h;
+		low = l;
+	}
+
+	/**
+	 * Unpacks this state into a PkmnState.
+	 *
+	 * @return the state
+	 */
+	public PkmnState decode()
+	{
+		Vector<Vector<PkmnPokemon>> pokemonTeam = new Vector<Vector<PkmnPokemon>>();
+		Vector<PkmnPokemon> currPokemon = new Vector<PkmnPokemon>();
+		int[][] currHP = new int[2][];
+		int[][][] currMovePP = new int[2][][];
+		boolean[] hasMoved = new boolean[2];
+		boolean[] missedAttack = new boolean[2];
+
+		for (int player = 0; player < 2; player++)
+		{
+			pokemonTeam.add(new Vector<PkmnPokemon>());
+			PkmnPokemon pokemon = getPokemon(player);
+			if (pokemon != null)
+			{
+				pokemonTeam.get(player).add(pokemon);
+				currPokemon.add(pokemon);
+				currHP[player] = new int[] {getHP(player)};
+				currMovePP[player] = new int[1][4];
+				for (int m = 0; m < 4; m++) currMovePP[player][0][m] = getPP(player, m);
+			}
+			else
+			{
+				currHP[player] = new int[0];
+				currMovePP[player] = new int[0][];
+			}
+			hasMoved[player] = getHasMoved(player);
+			missedAttack[player] = getMissedAttack(player);
+		}
+		return new PkmnState(pokemonTeam, currPokemon, new PkmnTeamIndex(pokemonTeam, currPokemon),
+				currHP, currMovePP, hasMoved, missedAttack, isPkmnSelect(), gameWinner());
+	}
+
+	/**
+	 * Copies another packed state into this one.
+	 *
+	 * @param other the state to copy
+	 */
+	public void copyFrom(PkmnPackedState other)
+	{
+		high = other.high;
+		low = other.low;
+	}
+
+	/**
+	 * Get the high long.
+	 *
+	 * @return high
+	 */
+	public long getHigh() { return high; }
+
+	/**
+	 * Get the low long.
+	 *
+	 * @return low
+	 */
+	public long getLow() { return low; }
+
+	/**
+	 * Get a player's Pokemon.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return the Pokemon, or null if it has not been chosen
+	 */
+	public PkmnPokemon getPokemon(int player)
+	{
+		int code = (int)(high >>> (SPECIES_SHIFT + player*SPECIES_BITS)) & ((1 << SPECIES_BITS) - 1);
+		return (code == 0) ? null : PkmnPokemon.values()[code - 1];
+	}
+
+	/**
+	 * Get the HP of a player's Pokemon.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return the HP
+	 */
+	public int getHP(int player)
+	{
+		return (int)(high >>> (HP_SHIFT + player*HP_BITS)) & ((1 << HP_BITS) - 1);
+	}
+
+	/**
+	 * Get the PP of one of a player's moves.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @param move the index of the move in the Pokemon's moveset
+	 * @return the PP
+	 */
+	public int getPP(int player, int move)
+	{
+		return (int)(low >>> ((player*4 + move)*PP_BITS)) & ((1 << PP_BITS) - 1);
+	}
+
+	/**
+	 * Get whether a player has chosen a move this turn.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return hasMoved for the player
+	 */
+	public boolean getHasMoved(int player)
+	{
+		return (high & (1L << (HAS_MOVED_SHIFT + player))) != 0;
+	}
+
+	/**
+	 * Get whether a player's last attack missed.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return missedAttack for the player
+	 */
+	public boolean getMissedAttack(int player)
+	{
+		return (high & (1L << (MISSED_SHIFT + player))) != 0;
+	}
+
+	/**
+	 * Get whether the Pokemon are still being chosen.
+	 *
+	 * @return isPkmnSelect
+	 */
+	public boolean isPkmnSelect()
+	{
+		return (high & (1L << SELECT_SHIFT)) != 0;
+	}
+
+	/**
+	 * Get the winner.
+	 *
+	 * @return the id of the winner if there is one, otherwise -1
+	 */
+	public int gameWinner()
+	{
+		return (int)(high >>> WINNER_SHIFT & 3) - 1;
+	}
+
+	/**
+	 * Hashes a packed state given as its two longs, for tables that store
+	 * the longs themselves.
+	 *
+	 * @param high the high long
+	 * @param low the low long
+	 * @return the hash
+	 */
+	public static int hash(long high, long low)
+	{
+		long h = high * 0x9e3779b97f4a7c15L + low;
+		h = (h ^ (h >>> 32)) * 0xd6e8feb86659fd93L;
+		return (int)(h ^ (h >>> 32));
+	}
+
+	/**
+	 * Tells whether another object is the same packed state.
+	 *
+	 * @param o the object
+	 * @return true if o is a PkmnPackedState of the same position
+	 */
+	public boolean equals(Object o)
+	{
+		if (!(o instanceof PkmnPackedState)) return false;
+		PkmnPackedState other = (PkmnPackedState)o;
+		return high == other.high && low == other.low;
+	}
+
+	/**
+	 * Get the hash of this state.
+	 *
+	 * @return the hash
+	 */
+	public int hashCode()
+	{
+		return hash(high, low);
+	}
+
+	/**
+	 * Returns a string representation of the state.
+	 *
+	 * @return the two longs in hex
+	 */
+	public String toString()
+	{
+		return String.format("%016x%016x", high, low);
+	}
+}
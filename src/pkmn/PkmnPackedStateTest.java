@@ -0,0 +1,89 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+/**
+ * Test class for PkmnPackedState.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnPackedStateTest
+{
+	//Instance of PkmnGameImpl to take states from.
+	PkmnGameImpl game = null;
+
+	@Before
+	/**
+	 * Create a game that is ready to battle.
+	 */
+	public void setUp()
+	{
+		game = new PkmnGameImpl(2, 1L);
+		game.setBattlePause(0);
+		game.initializeGame();
+		game.selectPokemon(0, PkmnPokemon.Charizard);
+		game.selectPokemon(1, PkmnPokemon.Blastoise);
+	}
+
+	@Test
+	/**
+	 * Make sure a state comes back the way it was packed.
+	 */
+	public void testEncodeAndDecode()
+	{
+		game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+		game.selectAttack(1, PkmnPokemon.Blastoise.getMoveSet()[1]);
+		PkmnState st = (PkmnState)game.getGameState(null, 0);
+		PkmnState copy = new PkmnPackedState(st).decode();
+
+		for (int player = 0; player < 2; player++)
+		{
+			PkmnPokemon pokemon = st.getCurrPokemon(player);
+			assertTrue(copy.getCurrPokemon(player) == pokemon);
+			assertTrue(copy.getCurrHP(player) == st.getCurrHP(player));
+			for (PkmnMove move : pokemon.getMoveSet())
+			{
+				assertTrue(copy.getCurrMovePP(player, move) == st.getCurrMovePP(player, move));
+			}
+			assertTrue(copy.getHasMoved(player) == st.getHasMoved(player));
+			assertTrue(copy.getMissedAttack()[player] == st.getMissedAttack()[player]);
+		}
+		assertTrue(copy.isPkmnSelect() == st.isPkmnSelect());
+		assertTrue(copy.gameWinner() == st.gameWinner());
+	}
+
+	@Test
+	/**
+	 * Equal positions pack the same way, and a change of HP does not.
+	 */
+	public void testEqualsAndHashCode()
+	{
+		PkmnPackedState one = new PkmnPackedState((PkmnState)game.getGameState(null, 0));
+		PkmnPackedState two = new PkmnPackedState();
+		two.copyFrom(one);
+		assertEquals(one, two);
+		assertTrue(one.hashCode() == two.hashCode());
+		assertTrue(one.getHP(0) == PkmnPokemon.Charizard.getHP());
+
+		game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+		game.selectAttack(1, PkmnPokemon.Blastoise.getMoveSet()[1]);
+		two.encode((PkmnState)game.getGameState(null, 0));
+		assertFalse(one.equals(two));
+	}
+
+	@Test
+	/**
+	 * A game that is still choosing Pokemon has none to pack.
+	 */
+	public void testSelectionState()
+	{
+		PkmnGameImpl fresh = new PkmnGameImpl(2, 1L);
+		fresh.initializeGame();
+		PkmnPackedState packed = new PkmnPackedState((PkmnState)fresh.getGameState(null, 0));
+		assertTrue(packed.isPkmnSelect());
+		assertTrue(packed.getPokemon(0) == null);
+		assertTrue(packed.gameWinner() == -1);
+	}
+}
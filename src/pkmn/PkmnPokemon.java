@@ -208,4 +208,20 @@ public enum PkmnPokemon {
 	 */
 	public double getDef() { return def; }
 
+	//every Pokemon, by name
+	private static final HashMap<String, PkmnPokemon> byName = new HashMap<String, PkmnPokemon>();
+	static
+	{
+		for (PkmnPokemon p : values()) byName.put(p.toString(), p);
+	}
+
+	/**
+	 * Get a Pokemon by its name.  Unlike valueOf, an unknown name is not
+	 * an error.
+	 * 
+	 * @param name the name of the Pokemon
+	 * @return the Pokemon, or null if there is no Pokemon with that name
+	 */
+	public static PkmnPokemon forName(String name) { return byName.get(name); }
+
 }
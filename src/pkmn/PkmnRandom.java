@@ -0,0 +1,124 @@
+package pkmn;
+
+/**
+ * A small, fast source of random numbers for one battle.  Every random
+ * decision a battle makes is drawn from its own PkmnRandom, so battles
+ * running on different threads never contend for a shared generator,
+ * and a battle can be played again exactly by reusing its seed.
+ *
+ * The generator is SplitMix64.  It is not thread-safe; give each battle
+ * (or each thread) its own instance, using split() to derive new ones.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnRandom
+{
+	//the odd increment added to the state before each number is drawn
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	//the seed this generator was created with
+	private final long seed;
+	//the current state of the generator
+	private long state;
+
+	/**
+	 * Constructor for PkmnRandom
+	 *
+	 * @param seed the seed; two generators with the same seed produce
+	 *  the same numbers
+	 */
+	public PkmnRandom(long seed)
+	{
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	/**
+	 * Get the seed this generator was created with.
+	 *
+	 * @return seed
+	 */
+	public long getSeed() { return seed; }
+
+	/**
+	 * Draws a random long, uniform over all long values.
+	 *
+	 * @return the next random long
+	 */
+	public long nextLong()
+	{
+		state += GOLDEN_GAMMA;
+		return mix64(state);
+	}
+
+	/**
+	 * Draws a random double in the range [0, 1), in the same way as
+	 * Math.random().
+	 *
+	 * @return the next random double
+	 */
+	public double nextDouble()
+	{
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Draws a random int in the range [0, bound).
+	 *
+	 * @param bound the (exclusive) upper bound; must be positive
+	 * @return the next random int
+	 */
+	public int nextInt(int bound)
+	{
+		if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+
+		//reject the top values that would make the lower ones more likely
+		int r = (int)(nextLong() >>> 33);
+		int m = bound - 1;
+		for (int u = r; u - (r = u % bound) + m < 0; u = (int)(nextLong() >>> 33));
+		return r;
+	}
+
+	/**
+	 * Draws a random int in the range [0, bound) from one of an array of
+	 * generator states, exactly as nextInt would from a PkmnRandom with
+	 * that state.  Lets many battles keep their generators in one array.
+	 *
+	 * @param states the states of the generators
+	 * @param i the index of the generator to draw from
+	 * @param bound the (exclusive) upper bound; must be positive
+	 * @return the next random int of that generator
+	 */
+	static int nextInt(long[] states, int i, int bound)
+	{
+		int r = (int)(mix64(states[i] += GOLDEN_GAMMA) >>> 33);
+		int m = bound - 1;
+		for (int u = r; u - (r = u % bound) + m < 0; u = (int)(mix64(states[i] += GOLDEN_GAMMA) >>> 33));
+		return r;
+	}
+
+	/**
+	 * Creates a new generator whose numbers are independent of this one's.
+	 * Used to give each battle of a series its own generator.
+	 *
+	 * @return the new generator
+	 */
+	public PkmnRandom split()
+	{
+		return new PkmnRandom(nextLong());
+	}
+
+	/**
+	 * Scrambles the bits of a long (the SplitMix64 finalizer).
+	 *
+	 * @param z the long to scramble
+	 * @return the scrambled long
+	 */
+	private static long mix64(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,343 @@
+package pkmn;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Vector;
+import java.util.concurrent.*;
+
+/**
+ * Re-runs battles from a PkmnEventLog.  A battle is fully determined by
+ * its seed, its two Pokemon and the move each player chose each turn, all
+ * of which are in the log; replaying those through a fresh PkmnGameImpl
+ * logs the battle again, and the two logs can then be compared record by
+ * record.  After changing the battle rules, this tells exactly which
+ * battles (and which attack in each) now play out differently.
+ *
+ * Replays are run with no pauses and no players to notify, so many
+ * battles can be checked at once, each on its own game.
+ *
+ * Usage: PkmnReplay [-t threads] logFile ...
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnReplay
+{
+	/**
+	 * Runs the replay from the command line, checking every battle in the
+	 * given logs and printing the ones that no longer match.
+	 *
+	 * @param args the optional "-t threads", then the log files
+	 * @throws IOException if a log cannot be read
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int threads = 1;
+		Vector<byte[]> battles = new Vector<byte[]>();
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("-t") && i+1 < args.length)
+			{
+				threads = Integer.parseInt(args[++i]);
+			}
+			else
+			{
+				battles.addAll(readBattles(new File(args[i])));
+			}
+		}
+		if (battles.isEmpty())
+		{
+			System.err.println("usage: PkmnReplay [-t threads] logFile ...");
+			return;
+		}
+
+		long start = System.nanoTime();
+		int[] differences = verify(battles, threads);
+		long nanos = System.nanoTime() - start;
+
+		int mismatches = 0;
+		for (int i = 0; i < differences.length; i++)
+		{
+			if (differences[i] < 0) continue;
+			mismatches++;
+			ByteBuffer header = ByteBuffer.wrap(battles.get(i));
+			System.out.printf("battle %d (%s:%s, seed %d) differs at record %d%n", i,
+					pokemonName(header.getShort(2)), pokemonName(header.getShort(4)),
+					header.getLong(8), differences[i]);
+		}
+		System.out.printf("%d battles replayed in %.3f s, %d differ%n",
+				battles.size(), nanos / 1e9, mismatches);
+	}
+
+	/**
+	 * Names a Pokemon from its logged ordinal.
+	 *
+	 * @param ordinal the ordinal
+	 * @return the Pokemon's name, or "?" if there is no such Pokemon
+	 */
+	private static String pokemonName(int ordinal)
+	{
+		PkmnPokemon[] all = PkmnPokemon.values();
+		return (ordinal >= 0 && ordinal < all.length) ? all[ordinal].toString() : "?";
+	}
+
+	/**
+	 * Reads a log and splits it into battles.  Each battle runs from its
+	 * HEADER record up to the next one, so a battle that was cut off
+	 * before it ended is still included.  Records before the first header
+	 * are skipped.
+	 *
+	 * @param file the log
+	 * @return the records of each battle, in the order they were logged
+	 * @throws IOException if the log cannot be read
+	 */
+	public static Vector<byte[]> readBattles(File file) throws IOException
+	{
+		byte[] bytes = new byte[(int)file.length()];
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try
+		{
+			in.readFully(bytes);
+		}
+		finally
+		{
+			in.close();
+		}
+		return splitBattles(bytes);
+	}
+
+	/**
+	 * Splits logged records into battles, as readBattles does.
+	 *
+	 * @param bytes the records; a partial record at the end is ignored
+	 * @return the records of each battle
+	 */
+	public static Vector<byte[]> splitBattles(byte[] bytes)
+	{
+		Vector<byte[]> battles = new Vector<byte[]>();
+		int size = PkmnEventLog.RECORD_SIZE;
+		int records = bytes.length / size;
+		int from = -1;
+		for (int r = 0; r <= records; r++)
+		{
+			if (r < records && bytes[r*size] != PkmnEventLog.HEADER) continue;
+			if (from >= 0)
+			{
+				byte[] battle = new byte[(r - from) * size];
+				System.arraycopy(bytes, from * size, battle, 0, battle.length);
+				battles.add(battle);
+			}
+			from = r;
+		}
+		return battles;
+	}
+
+	/**
+	 * Finds the first record of a battle that cannot be replayed: a
+	 * header naming a Pokemon that does not exist, or an attack by a
+	 * player or with a move that does not exist.  Such a record can only
+	 * come from a corrupt log.
+	 *
+	 * @param battle the records of the battle, starting with its header
+	 * @return the index of the first such record, or -1 if there is none
+	 */
+	public static int firstBadRecord(byte[] battle)
+	{
+		ByteBuffer in = ByteBuffer.wrap(battle);
+		int size = PkmnEventLog.RECORD_SIZE;
+		int pokemon = PkmnPokemon.values().length;
+		int moves = PkmnMove.values().length;
+		int records = battle.length / size;
+		if (records == 0) return 0;
+		if (in.getShort(2) < 0 || in.getShort(2) >= pokemon
+				|| in.getShort(4) < 0 || in.getShort(4) >= pokemon) return 0;
+
+		for (int r = 1; r < records; r++)
+		{
+			if (in.get(r*size) != PkmnEventLog.ATTACK) continue;
+			int player = in.get(r*size + 1);
+			int move = in.getShort(r*size + 4);
+			if (player < 0 || player > 1 || move < 0 || move >= moves) return r;
+		}
+		return -1;
+	}
+
+	/**
+	 * Replays one battle and logs it again.
+	 *
+	 * @param battle the records of the battle, starting with its header
+	 * @return the records of the replayed battle
+	 * @throws IllegalArgumentException if the battle does not start with
+	 *  its header, or has a record that cannot be replayed
+	 */
+	public static byte[] replay(byte[] battle)
+	{
+		ByteBuffer in = ByteBuffer.wrap(battle);
+		int size = PkmnEventLog.RECORD_SIZE;
+		if (battle.length < size || in.get(0) != PkmnEventLog.HEADER)
+		{
+			throw new IllegalArgumentException("a battle must start with its header");
+		}
+		int bad = firstBadRecord(battle);
+		if (bad >= 0)
+		{
+			throw new IllegalArgumentException("record " + bad + " of the battle cannot be replayed");
+		}
+		PkmnPokemon[] pokemon = PkmnPokemon.values();
+		PkmnMove[] moves = PkmnMove.values();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(battle.length);
+		PkmnEventLog log = new PkmnEventLog(Channels.newChannel(out));
+		PkmnGameImpl game = new PkmnGameImpl(2, in.getLong(8));
+		game.setBattlePause(0);
+		game.setEventLog(log);
+		game.initializeGame();
+		game.selectPokemon(0, pokemon[in.getShort(2)]);
+		game.selectPokemon(1, pokemon[in.getShort(4)]);
+
+		//replay a turn at a time, from the moves logged for it
+		int r = 1;
+		int records = battle.length / size;
+		while (r < records && in.get(r*size) == PkmnEventLog.ATTACK)
+		{
+			int turn = in.getShort(r*size + 14);
+			PkmnMove[] choice = new PkmnMove[2];
+			for (; r < records && in.get(r*size) == PkmnEventLog.ATTACK
+					&& in.getShort(r*size + 14) == turn; r++)
+			{
+				choice[in.get(r*size + 1)] = moves[in.getShort(r*size + 4)];
+			}
+
+			//a player who never got to attack chose a move all the same
+			PkmnState st = game.getLiveState();
+			for (int player = 0; player < 2; player++)
+			{
+				if (choice[player] == null) choice[player] = anyMove(st, player);
+			}
+			game.selectAttack(0, choice[0]);
+			game.selectAttack(1, choice[1]);
+		}
+
+		//a battle logged as a draw ends in one, if it still has no winner
+		if (r < records && in.get(r*size) == PkmnEventLog.END && in.get(r*size + 1) == -1)
+		{
+			game.endInDraw();
+		}
+
+		try
+		{
+			log.close();
+		}
+		catch (IOException ioe)
+		{
+			//cannot happen when writing to memory
+			throw new RuntimeException(ioe);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Finds a move a player could have chosen.
+	 *
+	 * @param st the state of the battle
+	 * @param player the 0/1 id of the player
+	 * @return the player's first move with PP left, or their first move
+	 */
+	private static PkmnMove anyMove(PkmnState st, int player)
+	{
+		PkmnMove[] moveset = st.getCurrPokemon(player).moveset;
+		for (PkmnMove move : moveset)
+		{
+			if (st.getCurrMovePP(player, move) > 0) return move;
+		}
+		return moveset[0];
+	}
+
+	/**
+	 * Finds the first record in which two logs differ.
+	 *
+	 * @param a the first log
+	 * @param b the second log
+	 * @return the index of the first differing record, or -1 if the logs
+	 *  are the same
+	 */
+	public static int firstDifference(byte[] a, byte[] b)
+	{
+		int size = PkmnEventLog.RECORD_SIZE;
+		int length = Math.min(a.length, b.length);
+		for (int i = 0; i < length; i++)
+		{
+			if (a[i] != b[i]) return i / size;
+		}
+		return (a.length == b.length) ? -1 : length / size;
+	}
+
+	/**
+	 * Replays battles and compares each with its log.
+	 *
+	 * @param battles the records of each battle
+	 * @param threads how many threads to replay on
+	 * @return for each battle, the first record where the replay differs,
+	 *  or -1 if it matches
+	 */
+	public static int[] verify(final Vector<byte[]> battles, int threads)
+	{
+		final int[] differences = new int[battles.size()];
+		if (threads <= 1)
+		{
+			verify(battles, 0, battles.size(), differences);
+			return differences;
+		}
+
+		//give each thread its own slice of the battles
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		Vector<Future<?>> slices = new Vector<Future<?>>();
+		for (int t = 0; t < threads; t++)
+		{
+			final int from = (int)((long)battles.size() * t / threads);
+			final int to = (int)((long)battles.size() * (t+1) / threads);
+			slices.add(pool.submit(new Runnable() {
+				public void run()
+				{
+					verify(battles, from, to, differences);
+				}
+			}));
+		}
+		try
+		{
+			for (Future<?> slice : slices) slice.get();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ee)
+		{
+			throw new RuntimeException(ee.getCause());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		return differences;
+	}
+
+	/**
+	 * Replays a range of battles and compares each with its log.  A
+	 * battle with a record that cannot be replayed differs at that record.
+	 *
+	 * @param battles the records of each battle
+	 * @param from the first battle to replay
+	 * @param to one past the last battle to replay
+	 * @param differences where the first difference of each is stored
+	 */
+	private static void verify(Vector<byte[]> battles, int from, int to, int[] differences)
+	{
+		for (int i = from; i < to; i++)
+		{
+			int bad = firstBadRecord(battles.get(i));
+			differences[i] = (bad >= 0) ? bad : firstDifference(battles.get(i), replay(battles.get(i)));
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.util.Vector;
+
+import ai.CommonAI;
+
+/**
+ * Test class for PkmnReplay.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnReplayTest
+{
+	//Logged battles to replay.
+	Vector<byte[]> battles = null;
+
+	@Before
+	/**
+	 * Play and log a few battles to replay.
+	 */
+	public void setUp() throws IOException
+	{
+		File file = File.createTempFile("replay", ".log");
+		try
+		{
+			PkmnEventLog log = new PkmnEventLog(file);
+			PkmnSimulator sim = new PkmnSimulator();
+			sim.setEventLog(log);
+			PkmnSimulationResult result = new PkmnSimulationResult(PkmnPokemon.Charizard, PkmnPokemon.Blastoise);
+			for (long seed = 1; seed <= 4; seed++)
+			{
+				sim.playBattle(PkmnPokemon.Charizard, PkmnPokemon.Blastoise,
+						new CommonAI(), new CommonAI(), seed, result);
+			}
+			log.close();
+			battles = PkmnReplay.readBattles(file);
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+
+	@Test
+	/**
+	 * Make sure every logged battle replays exactly as it was logged.
+	 */
+	public void testReplayMatchesLog()
+	{
+		assertTrue(battles.size() == 4);
+		for (byte[] battle : battles)
+		{
+			assertTrue(PkmnReplay.firstDifference(battle, PkmnReplay.replay(battle)) == -1);
+		}
+		for (int difference : PkmnReplay.verify(battles, 2)) assertTrue(difference == -1);
+	}
+
+	@Test
+	/**
+	 * Make sure a battle that no longer plays out as logged is caught at
+	 * the record that changed.
+	 */
+	public void testChangedRecordIsFound()
+	{
+		byte[] battle = battles.get(0).clone();
+		//change the damage of the first attack
+		battle[PkmnEventLog.RECORD_SIZE + 8]++;
+		assertTrue(PkmnReplay.firstDifference(battle, PkmnReplay.replay(battle)) == 1);
+	}
+
+	@Test
+	/**
+	 * Make sure a battle with an index that is out of range is reported as
+	 * differing at that record, rather than stopping the check.
+	 */
+	public void testCorruptRecordIsFound()
+	{
+		Vector<byte[]> corrupt = new Vector<byte[]>();
+		for (byte[] battle : battles) corrupt.add(battle.clone());
+		//a player that does not exist attacks in the second attack
+		corrupt.get(1)[2*PkmnEventLog.RECORD_SIZE + 1] = 7;
+		//a Pokemon that does not exist is in the header
+		corrupt.get(2)[2] = 0x7F;
+
+		assertTrue(PkmnReplay.firstBadRecord(corrupt.get(0)) == -1);
+		int[] differences = PkmnReplay.verify(corrupt, 2);
+		assertTrue(differences[0] == -1);
+		assertTrue(differences[1] == 2);
+		assertTrue(differences[2] == 0);
+		assertTrue(differences[3] == -1);
+	}
+
+	@Test
+	/**
+	 * Make sure a battle that ends in a draw is logged with an END record
+	 * for no winner, unlike one that is cut off, and that both replay as
+	 * they were logged.
+	 */
+	public void testDrawIsLogged() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PkmnEventLog log = new PkmnEventLog(Channels.newChannel(out));
+		for (int battle = 0; battle < 2; battle++)
+		{
+			PkmnGameImpl game = new PkmnGameImpl(2, 5L);
+			game.setBattlePause(0);
+			game.setEventLog(log);
+			game.initializeGame();
+			game.selectPokemon(0, PkmnPokemon.Snorlax);
+			game.selectPokemon(1, PkmnPokemon.Blastoise);
+			for (int turn = 0; turn < 2; turn++)
+			{
+				game.selectAttack(0, PkmnPokemon.Snorlax.getMoveSet()[0]);
+				game.selectAttack(1, PkmnPokemon.Blastoise.getMoveSet()[0]);
+			}
+			//the first battle is called a draw; the second is cut off
+			if (battle == 0) game.endInDraw();
+		}
+		log.close();
+
+		Vector<byte[]> logged = PkmnReplay.splitBattles(out.toByteArray());
+		assertTrue(logged.size() == 2);
+		byte[] draw = logged.get(0);
+		int last = draw.length - PkmnEventLog.RECORD_SIZE;
+		assertTrue(draw[last] == PkmnEventLog.END);
+		assertTrue((draw[last + 1] & 0xFF) == 0xFF);
+		byte[] cutOff = logged.get(1);
+		assertTrue(cutOff[cutOff.length - PkmnEventLog.RECORD_SIZE] == PkmnEventLog.ATTACK);
+
+		for (byte[] battle : logged)
+		{
+			assertTrue(PkmnReplay.firstDifference(battle, PkmnReplay.replay(battle)) == -1);
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package pkmn;
+
+/**
+ * The tally of a batch of simulated battles between two Pokemon:
+ * how many battles each side won, how many were drawn, and how
+ * many turns the battles took.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnSimulationResult
+{
+	//the Pokemon used by player 0 and player 1
+	private PkmnPokemon[] pokemon;
+	//how many battles each player has won
+	private int[] wins;
+	//how many battles ended without a winner
+	private int draws;
+	//the total, fewest and most turns taken by a battle
+	private long totalTurns;
+	private int minTurns;
+	private int maxTurns;
+	//how long the battles took to simulate, in nanoseconds
+	private long elapsedNanos;
+
+	/**
+	 * Constructor for PkmnSimulationResult
+	 *
+	 * @param pokemon0 the Pokemon used by player 0
+	 * @param pokemon1 the Pokemon used by player 1
+	 */
+	public PkmnSimulationResult(PkmnPokemon pokemon0, PkmnPokemon pokemon1)
+	{
+		pokemon = new PkmnPokemon[] {pokemon0, pokemon1};
+		wins = new int[2];
+		draws = 0;
+		totalTurns = 0;
+		minTurns = Integer.MAX_VALUE;
+		maxTurns = 0;
+		elapsedNanos = 0;
+	}
+
+	/**
+	 * Records the outcome of one battle.
+	 *
+	 * @param winner the id of the winning player, or -1 for a draw
+	 * @param turns the number of turns the battle took
+	 */
+	public void addBattle(int winner, int turns)
+	{
+		if (winner >= 0) wins[winner]++;
+		else draws++;
+
+		totalTurns += turns;
+		minTurns = Math.min(minTurns, turns);
+		maxTurns = Math.max(maxTurns, turns);
+	}
+
+	/**
+	 * Adds the battles recorded in another result (e.g., one kept by
+	 * another thread) to this one.
+	 *
+	 * @param other the result to add
+	 */
+	public void merge(PkmnSimulationResult other)
+	{
+		wins[0] += other.wins[0];
+		wins[1] += other.wins[1];
+		draws += other.draws;
+		totalTurns += other.totalTurns;
+		minTurns = Math.min(minTurns, other.minTurns);
+		maxTurns = Math.max(maxTurns, other.maxTurns);
+	}
+
+	/**
+	 * Adds to the time spent simulating these battles.
+	 *
+	 * @param nanos the number of nanoseconds to add
+	 */
+	public void addElapsedNanos(long nanos)
+	{
+		elapsedNanos += nanos;
+	}
+
+	/**
+	 * Get the Pokemon used by a player.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return the player's Pokemon
+	 */
+	public PkmnPokemon getPokemon(int player) { return pokemon[player]; }
+
+	/**
+	 * Get the number of battles a player has won.
+	 *
+	 * @param player the 0/1 id of the player
+	 * @return the player's wins
+	 */
+	public int getWins(int player) { return wins[player]; }
+
+	/**
+	 * Get the number of battles that ended without a winner.
+	 *
+	 * @return draws
+	 */
+	public int getDraws() { return draws; }
+
+	/**
+	 * Get the number of battles that have been recorded.
+	 *
+	 * @return the number of battles
+	 */
+	public int getBattles() { return wins[0] + wins[1] + draws; }
+
+	/**
+	 * Get the number of turns all the battles took together.
+	 *
+	 * @return totalTurns
+	 */
+	public long getTotalTurns() { return totalTurns; }
+
+	/**
+	 * Get the average number of turns per battle.
+	 *
+	 * @return the average number of turns, or 0 if there were no battles
+	 */
+	public double getAverageTurns()
+	{
+		int battles = getBattles();
+		return battles == 0 ? 0 : (double)totalTurns / battles;
+	}
+
+	/**
+	 * Get the fewest turns any battle took.
+	 *
+	 * @return minTurns, or 0 if there were no battles
+	 */
+	public int getMinTurns() { return getBattles() == 0 ? 0 : minTurns; }
+
+	/**
+	 * Get the most turns any battle took.
+	 *
+	 * @return maxTurns
+	 */
+	public int getMaxTurns() { return maxTurns; }
+
+	/**
+	 * Get the time spent simulating these battles.
+	 *
+	 * @return elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() { return elapsedNanos; }
+
+	/**
+	 * Get the number of battles simulated per second.
+	 *
+	 * @return battles per second, or 0 if no time has been recorded
+	 */
+	public double getBattlesPerSecond()
+	{
+		return elapsedNanos == 0 ? 0 : getBattles() * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Returns a string representation of the result.
+	 *
+	 * @return a one-line summary of the result
+	 */
+	public String toString()
+	{
+		return String.format("%s vs %s: %d battles, %s %d wins, %s %d wins, %d draws, "
+				+ "turns avg %.2f (min %d, max %d), %.0f battles/s",
+				pokemon[0], pokemon[1], getBattles(), pokemon[0], wins[0],
+				pokemon[1], wins[1], draws, getAverageTurns(), getMinTurns(),
+				maxTurns, getBattlesPerSecond());
+	}
+}
@@ -0,0 +1,350 @@
+package pkmn;
+
+import java.util.Vector;
+import java.util.concurrent.*;
+
+import ai.CommonAI;
+
+/**
+ * Plays complete one-on-one battles headlessly: there are no players,
+ * threads, windows or sockets, and no pauses between attacks.  Each battle
+ * is driven directly through the damage and turn logic of PkmnGameImpl,
+ * with a CommonAI choosing the moves for each side.
+ *
+ * Every battle gets its own seed, drawn from the seed of the run, so the
+ * battles can be spread across threads and any of them can be played
+ * again exactly.
+ *
+ * Battles can also be written to a PkmnEventLog, to be replayed and
+ * checked later by PkmnReplay.
+ *
+ * For large runs, the battles can instead be played a few thousand at a
+ * time in a PkmnArena ("-a"), which gives the same results much faster.
+ *
+ * Usage: PkmnSimulator [-n games] [-s seed] [-t threads] [-l logFile] [-a] Pokemon:Pokemon ...
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnSimulator
+{
+	//how many turns a battle may last before it is called a draw
+	public static final int MAX_TURNS = 1000;
+
+	//how many battles to play for each pairing if none is given
+	private static final int DEFAULT_GAMES = 1000;
+
+	//how many battles an arena plays at once
+	private static final int ARENA_SIZE = 4096;
+
+	//where battles are logged, if anywhere
+	private PkmnEventLog eventLog;
+
+	//whether battles are played in arenas rather than games
+	private boolean useArena;
+
+	/**
+	 * Runs the simulator from the command line.
+	 *
+	 * @param args the optional "-n games", "-s seed", "-t threads", "-l logFile" and "-a",
+	 *  followed by one or more pairings of the form Pokemon:Pokemon
+	 *  (e.g., Charizard:Blastoise)
+	 */
+	public static void main(String[] args) throws java.io.IOException
+	{
+		int games = DEFAULT_GAMES;
+		long seed = System.nanoTime();
+		int threads = 1;
+		String logFile = null;
+		boolean arena = false;
+		Vector<PkmnPokemon[]> pairings = new Vector<PkmnPokemon[]>();
+
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("-n") && i+1 < args.length)
+			{
+				games = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-s") && i+1 < args.length)
+			{
+				seed = Long.parseLong(args[++i]);
+			}
+			else if (args[i].equals("-t") && i+1 < args.length)
+			{
+				threads = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-l") && i+1 < args.length)
+			{
+				logFile = args[++i];
+			}
+			else if (args[i].equals("-a"))
+			{
+				arena = true;
+			}
+			else
+			{
+				int idx = args[i].indexOf(":");
+				if (idx < 0)
+				{
+					usage("bad pairing: " + args[i]);
+				}
+				try
+				{
+					PkmnPokemon[] pair = {
+							PkmnPokemon.valueOf(args[i].substring(0, idx)),
+							PkmnPokemon.valueOf(args[i].substring(idx+1))
+					};
+					pairings.add(pair);
+				}
+				catch (IllegalArgumentException iae)
+				{
+					usage("unknown Pokemon in " + args[i]);
+				}
+			}
+		}
+		if (pairings.isEmpty()) usage("no pairings given");
+
+		System.out.println("seed: " + seed);
+		PkmnSimulator sim = new PkmnSimulator();
+		if (logFile != null) sim.setEventLog(new PkmnEventLog(new java.io.File(logFile)));
+		sim.setArena(arena);
+		PkmnRandom seeds = new PkmnRandom(seed);
+		long battles = 0;
+		long nanos = 0;
+		for (PkmnPokemon[] pair : pairings)
+		{
+			PkmnSimulationResult result = sim.simulate(pair[0], pair[1], games,
+					seeds.nextLong(), threads);
+			System.out.println(result);
+			battles += result.getBattles();
+			nanos += result.getElapsedNanos();
+		}
+		System.out.printf("total: %d battles in %.3f s, %.0f battles/s%n",
+				battles, nanos / 1e9, nanos == 0 ? 0 : battles * 1e9 / nanos);
+		if (sim.eventLog != null) sim.eventLog.close();
+	}
+
+	/**
+	 * Prints an error and the usage message, then exits.
+	 *
+	 * @param error what was wrong with the arguments
+	 */
+	private static void usage(String error)
+	{
+		System.err.println(error);
+		System.err.println("usage: PkmnSimulator [-n games] [-s seed] [-t threads] [-l logFile] [-a]"
+				+ " Pokemon:Pokemon ...");
+		System.exit(1);
+	}
+
+	/**
+	 * Sets where battles are logged.  A log can only be written by one
+	 * thread, so while there is one, battles are all played on the
+	 * calling thread.
+	 *
+	 * @param eventLog the log, or null to stop logging
+	 */
+	public void setEventLog(PkmnEventLog eventLog)
+	{
+		this.eventLog = eventLog;
+	}
+
+	/**
+	 * Sets whether battles are played in a PkmnArena rather than each in
+	 * its own PkmnGameImpl.  The results are the same.  Battles in an
+	 * arena cannot be logged, so while there is a log, games are used.
+	 *
+	 * @param useArena true to play battles in arenas
+	 */
+	public void setArena(boolean useArena)
+	{
+		this.useArena = useArena;
+	}
+
+	/**
+	 * Plays a number of battles between two Pokemon on this thread.
+	 *
+	 * @param pokemon0 the Pokemon for player 0
+	 * @param pokemon1 the Pokemon for player 1
+	 * @param games how many battles to play
+	 * @return the tally of the battles
+	 */
+	public PkmnSimulationResult simulate(PkmnPokemon pokemon0, PkmnPokemon pokemon1, int games)
+	{
+		return simulate(pokemon0, pokemon1, games, System.nanoTime(), 1);
+	}
+
+	/**
+	 * Plays a number of battles between two Pokemon, spread across threads.
+	 * The battles' seeds depend only on the given seed, so the tally is the
+	 * same however many threads are used.
+	 *
+	 * @param pokemon0 the Pokemon for player 0
+	 * @param pokemon1 the Pokemon for player 1
+	 * @param games how many battles to play
+	 * @param seed the seed from which each battle's seed is drawn
+	 * @param threads how many threads to play the battles on
+	 * @return the tally of the battles
+	 */
+	public PkmnSimulationResult simulate(final PkmnPokemon pokemon0, final PkmnPokemon pokemon1,
+			int games, long seed, int threads)
+	{
+		//draw every battle's seed up front, in order
+		final long[] battleSeeds = new long[games];
+		PkmnRandom seeds = new PkmnRandom(seed);
+		for (int i = 0; i < games; i++) battleSeeds[i] = seeds.nextLong();
+
+		PkmnSimulationResult result = new PkmnSimulationResult(pokemon0, pokemon1);
+		long start = System.nanoTime();
+		if (threads <= 1 || eventLog != null)
+		{
+			playBattles(pokemon0, pokemon1, battleSeeds, 0, games, result);
+		}
+		else
+		{
+			//give each thread its own slice of the battles and its own tally
+			ExecutorService pool = Executors.newFixedThreadPool(threads);
+			Vector<Future<PkmnSimulationResult>> slices = new Vector<Future<PkmnSimulationResult>>();
+			for (int t = 0; t < threads; t++)
+			{
+				final int from = (int)((long)games * t / threads);
+				final int to = (int)((long)games * (t+1) / threads);
+				slices.add(pool.submit(new Callable<PkmnSimulationResult>() {
+					public PkmnSimulationResult call()
+					{
+						PkmnSimulationResult slice = new PkmnSimulationResult(pokemon0, pokemon1);
+						playBattles(pokemon0, pokemon1, battleSeeds, from, to, slice);
+						return slice;
+					}
+				}));
+			}
+			try
+			{
+				for (Future<PkmnSimulationResult> slice : slices) result.merge(slice.get());
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException ee)
+			{
+				throw new RuntimeException(ee.getCause());
+			}
+			finally
+			{
+				pool.shutdown();
+			}
+		}
+		result.addElapsedNanos(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Plays a range of battles, each with its own seed.
+	 *
+	 * @param pokemon0 the Pokemon for player 0
+	 * @param pokemon1 the Pokemon for player 1
+	 * @param battleSeeds the seed of every battle
+	 * @param from the index of the first battle to play
+	 * @param to the index just past the last battle to play
+	 * @param result where the battles are recorded
+	 */
+	private void playBattles(PkmnPokemon pokemon0, PkmnPokemon pokemon1, long[] battleSeeds,
+			int from, int to, PkmnSimulationResult result)
+	{
+		if (useArena && eventLog == null)
+		{
+			for (int start = from; start < to; start += ARENA_SIZE)
+			{
+				PkmnArena arena = new PkmnArena(Math.min(ARENA_SIZE, to - start));
+				for (int i = start; i < start + arena.capacity(); i++)
+				{
+					arena.add(pokemon0, pokemon1, battleSeeds[i]);
+				}
+				arena.run();
+				arena.tally(result);
+			}
+			return;
+		}
+
+		for (int i = from; i < to; i++)
+		{
+			playBattle(pokemon0, pokemon1, new CommonAI(), new CommonAI(), battleSeeds[i], result);
+		}
+	}
+
+	/**
+	 * Plays one battle to the end and records it in a result.
+	 *
+	 * @param pokemon0 the Pokemon for player 0
+	 * @param pokemon1 the Pokemon for player 1
+	 * @param ai0 the AI choosing player 0's moves
+	 * @param ai1 the AI choosing player 1's moves
+	 * @param seed the seed for the battle's random decisions
+	 * @param result where the battle is recorded
+	 * @return the id of the winning player, or -1 for a draw
+	 */
+	public int playBattle(PkmnPokemon pokemon0, PkmnPokemon pokemon1,
+			CommonAI ai0, CommonAI ai1, long seed, PkmnSimulationResult result)
+	{
+		PkmnGameImpl game = new PkmnGameImpl(2, seed);
+		game.setBattlePause(0);
+		game.setEventLog(eventLog);
+		game.initializeGame();
+		game.selectPokemon(0, pokemon0);
+		game.selectPokemon(1, pokemon1);
+
+		CommonAI[] intel = {ai0, ai1};
+		int winner = -1;
+		int turns = 0;
+		while (turns < MAX_TURNS)
+		{
+			PkmnState st = game.getLiveState();
+			if (st.gameWinner() >= 0)
+			{
+				winner = st.gameWinner();
+				break;
+			}
+
+			//choose both moves before either is made, as both players would
+			PkmnMove[] choice = new PkmnMove[2];
+			for (int player = 0; player < 2; player++)
+			{
+				choice[player] = chooseMove(st, player, intel[player]);
+			}
+			//a Pokemon that has no PP left can never move again
+			if (choice[0] == null || choice[1] == null) break;
+
+			game.selectAttack(0, choice[0]);
+			game.selectAttack(1, choice[1]);
+			turns++;
+		}
+		if (winner < 0) game.endInDraw();
+
+		result.addBattle(winner, turns);
+		return winner;
+	}
+
+	/**
+	 * Chooses a move for a player.  The AI's choice is used if it still
+	 * has PP; otherwise the first move in the moveset that does.
+	 *
+	 * @param st the current state of the battle
+	 * @param player the 0/1 id of the player
+	 * @param intel the AI choosing the player's moves
+	 * @return the move to use, or null if no move has PP left
+	 */
+	private PkmnMove chooseMove(PkmnState st, int player, CommonAI intel)
+	{
+		PkmnPokemon pokemon = st.getCurrPokemon(player);
+		PkmnMove move = intel.chooseMove(pokemon, st.getCurrPokemon(1-player),
+				st.getCurrHP(player));
+		if (move != null && st.getCurrMovePP(player, move) > 0) return move;
+
+		for (PkmnMove pm : pokemon.getMoveSet())
+		{
+			if (st.getCurrMovePP(player, pm) > 0) return pm;
+		}
+		return null;
+	}
+}
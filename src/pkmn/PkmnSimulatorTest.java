@@ -0,0 +1,66 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ai.CommonAI;
+
+/**
+ * Test class for PkmnSimulator.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnSimulatorTest
+{
+	//Instance of PkmnSimulator to use for testing.
+	PkmnSimulator sim = null;
+
+	@Before
+	/**
+	 * Create a simulator to test with.
+	 */
+	public void setUp()
+	{
+		sim = new PkmnSimulator();
+	}
+
+	@Test
+	/**
+	 * Make sure every battle that was asked for is played and counted once.
+	 */
+	public void testSimulateCountsEveryBattle()
+	{
+		PkmnSimulationResult result = sim.simulate(PkmnPokemon.Charizard, PkmnPokemon.Blastoise, 50);
+		assertTrue(result.getBattles() == 50);
+		assertTrue(result.getWins(0) + result.getWins(1) + result.getDraws() == 50);
+		assertTrue(result.getMinTurns() >= 1);
+		assertTrue(result.getMaxTurns() <= PkmnSimulator.MAX_TURNS);
+	}
+
+	@Test
+	/**
+	 * Mewtwo outclasses Pikachu, so Pikachu should never win.
+	 */
+	public void testPlayBattleHasWinner()
+	{
+		PkmnSimulationResult result = new PkmnSimulationResult(PkmnPokemon.Mewtwo, PkmnPokemon.Pikachu);
+		int winner = sim.playBattle(PkmnPokemon.Mewtwo, PkmnPokemon.Pikachu,
+				new CommonAI(), new CommonAI(), 1L, result);
+		assertTrue(winner == 0);
+		assertTrue(result.getWins(0) == 1);
+	}
+
+	@Test
+	/**
+	 * The same seed must give the same tally, however many threads play it.
+	 */
+	public void testSimulateIsReproducible()
+	{
+		PkmnSimulationResult one = sim.simulate(PkmnPokemon.Mewtwo, PkmnPokemon.Mew, 200, 42L, 1);
+		PkmnSimulationResult four = sim.simulate(PkmnPokemon.Mewtwo, PkmnPokemon.Mew, 200, 42L, 4);
+		assertTrue(one.getWins(0) == four.getWins(0));
+		assertTrue(one.getWins(1) == four.getWins(1));
+		assertTrue(one.getAverageTurns() == four.getAverageTurns());
+	}
+}
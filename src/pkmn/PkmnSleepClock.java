@@ -0,0 +1,50 @@
+package pkmn;
+
+/**
+ * A pacing clock that waits a fixed time before every attack, as games
+ * used to, so that someone watching on the same computer can follow the
+ * battle.  It holds up the game's thread while it waits.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnSleepClock implements PkmnPacingClock
+{
+	//how many milliseconds to wait before each attack
+	private int millis;
+
+	/**
+	 * Constructor for a PkmnSleepClock
+	 *
+	 * @param millis how many milliseconds to wait before each attack
+	 */
+	public PkmnSleepClock(int millis)
+	{
+		this.millis = Math.max(0, millis);
+	}
+
+	/**
+	 * Waits before an attack.
+	 *
+	 * @param player the 0/1 id of the attacking player
+	 * @param turn the turn, counting from 1
+	 */
+	public void beforeAttack(int player, int turn)
+	{
+		if (millis > 0){
+			try{
+				Thread.sleep(millis);
+			}
+			catch(InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Get how long the clock waits before each attack.
+	 *
+	 * @return millis
+	 */
+	public int getMillis() { return millis; }
+}
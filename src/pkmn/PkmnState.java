@@ -17,10 +17,12 @@ public class PkmnState extends GameState
 	private Vector<Vector<PkmnPokemon>> pokemonTeam;
 	//the current pokemon which each player has out
 	private Vector<PkmnPokemon> currPokemon;
-	//the current health of each pokemon on a team
-	private Vector<Vector<Integer>> currHP;
-	// the current PP of each move
-	private Vector<Vector<Integer[]>> currMovePP;
+	//the current health of each pokemon on a team, by player and team slot
+	private int[][] currHP;
+	// the current PP of each move, by player, team slot and moveset index
+	private int[][][] currMovePP;
+	//the team slot of each player's Pokemon
+	private PkmnTeamIndex teamIndex;
 	//Boolean arrays
 	private boolean hasMoved[]; 
 	private boolean missedAttack[];
@@ -28,6 +30,8 @@ public class PkmnState extends GameState
 	private boolean isPkmnSelect; 
 	//Who has won the game
 	private int gameWinner;
+	//which of its game's snapshots this is (0 if not a snapshot)
+	private long version;
 
 
 
@@ -39,9 +43,27 @@ public class PkmnState extends GameState
 	public PkmnState(Vector<Vector<PkmnPokemon>> pokemonTeam,Vector<PkmnPokemon> currPokemon,
 			Vector<Vector<Integer>> currHP, Vector<Vector<Integer[]>> currMovePP, 
 			boolean hasMoved[], boolean missedAttack[], boolean isPkmnSelect, int gameWinner)
+	{
+		this(pokemonTeam, currPokemon, new PkmnTeamIndex(pokemonTeam, currPokemon),
+				copyHP(currHP), copyPP(currMovePP), hasMoved, missedAttack, isPkmnSelect, gameWinner);
+	}
+
+	/**
+	 * Constructor for a PkmnState that is a view of a game's HP and PP,
+	 * so it sees every change the game makes to them.
+	 * 
+	 * @param pokemonTeam the two teams of Pokemon ("team" also includes teams of one).
+	 * @param teamIndex the team slot of each player's Pokemon
+	 * @param currHP the health of each Pokemon, by player and team slot
+	 * @param currMovePP the PP of each move, by player, team slot and moveset index
+	 */
+	public PkmnState(Vector<Vector<PkmnPokemon>> pokemonTeam,Vector<PkmnPokemon> currPokemon,
+			PkmnTeamIndex teamIndex, int[][] currHP, int[][][] currMovePP, 
+			boolean hasMoved[], boolean missedAttack[], boolean isPkmnSelect, int gameWinner)
 	{
 		this.pokemonTeam=pokemonTeam;
 		this.currPokemon=currPokemon;
+		this.teamIndex = teamIndex;
 		this.hasMoved=hasMoved;
 		this.missedAttack = missedAttack;
 		this.isPkmnSelect = isPkmnSelect; 
@@ -51,6 +73,178 @@ public class PkmnState extends GameState
 		this.currHP = currHP;
 		
 		this.currMovePP = currMovePP;
+		this.version = 0;
+	}
+
+	/**
+	 * Makes an immutable snapshot of a game's state.  The snapshot copies
+	 * whatever the game may change later, but shares with the previous
+	 * snapshot every part (a team, a player's HP, a Pokemon's PP, etc.)
+	 * that has not changed since, so a turn costs a copy of the few values
+	 * it changed.  A snapshot is never written to, so any number of
+	 * threads can read it while the game goes on.
+	 * 
+	 * @param previous the game's previous snapshot, or null
+	 * @param version the number of the snapshot; later snapshots must have
+	 *  higher numbers
+	 * @param teamsChanged whether any team or current Pokemon has changed
+	 *  since the previous snapshot
+	 * @param statsChanged whether any HP or PP may have changed since the
+	 *  previous snapshot
+	 * @param pokemonTeam the game's teams
+	 * @param currPokemon each player's current Pokemon
+	 * @param teamIndex the team slot of each player's Pokemon
+	 * @param currHP the health of each Pokemon, by player and team slot
+	 * @param currMovePP the PP of each move, by player, team slot and moveset index
+	 * @return the snapshot
+	 */
+	public static PkmnState snapshot(PkmnState previous, long version, boolean teamsChanged,
+			boolean statsChanged, Vector<Vector<PkmnPokemon>> pokemonTeam, Vector<PkmnPokemon> currPokemon,
+			PkmnTeamIndex teamIndex, int[][] currHP, int[][][] currMovePP, boolean hasMoved[],
+			boolean missedAttack[], boolean isPkmnSelect, int gameWinner)
+	{
+		//the teams change only while they are being chosen
+		Vector<Vector<PkmnPokemon>> teams;
+		Vector<PkmnPokemon> curr;
+		PkmnTeamIndex index;
+		if (previous != null && !teamsChanged){
+			teams = previous.pokemonTeam;
+			curr = previous.currPokemon;
+			index = previous.teamIndex;
+		}
+		else{
+			teams = new Vector<Vector<PkmnPokemon>>(pokemonTeam.size());
+			for (Vector<PkmnPokemon> team : pokemonTeam){
+				teams.add(new Vector<PkmnPokemon>(team));
+			}
+			curr = new Vector<PkmnPokemon>(currPokemon);
+			index = new PkmnTeamIndex(teamIndex);
+		}
+
+		//copy only the HP and PP that differ from the previous snapshot
+		int[][] hp;
+		int[][][] pp;
+		if (previous != null && !statsChanged){
+			hp = previous.currHP;
+			pp = previous.currMovePP;
+		}
+		else{
+			hp = share((previous == null) ? null : previous.currHP, currHP);
+			pp = share((previous == null) ? null : previous.currMovePP, currMovePP);
+		}
+
+		PkmnState st = new PkmnState(teams, curr, index, hp, pp,
+				share((previous == null) ? null : previous.hasMoved, hasMoved),
+				share((previous == null) ? null : previous.missedAttack, missedAttack),
+				isPkmnSelect, gameWinner);
+		st.version = version;
+		return st;
+	}
+
+	/**
+	 * Gives the shared copy of a table of PP if none of it has changed,
+	 * or a new table that shares the rows that have not.
+	 */
+	private static int[][][] share(int[][][] shared, int[][][] values)
+	{
+		int[][][] copy = (shared == null || shared.length != values.length) ?
+				new int[values.length][][] : null;
+		for (int i = 0; i < values.length; i++){
+			int[][] before = (shared == null || i >= shared.length) ? null : shared[i];
+			int[][] row = share(before, values[i]);
+			if (copy == null && row != before){
+				//the rows before the first to change are shared
+				copy = new int[values.length][][];
+				System.arraycopy(shared, 0, copy, 0, i);
+			}
+			if (copy != null) copy[i] = row;
+		}
+		return (copy == null) ? shared : copy;
+	}
+
+	/**
+	 * Gives the shared copy of a table of values if none of it has
+	 * changed, or a new table that shares the rows that have not.
+	 */
+	private static int[][] share(int[][] shared, int[][] values)
+	{
+		int[][] copy = (shared == null || shared.length != values.length) ?
+				new int[values.length][] : null;
+		for (int i = 0; i < values.length; i++){
+			int[] before = (shared == null || i >= shared.length) ? null : shared[i];
+			int[] row = share(before, values[i]);
+			if (copy == null && row != before){
+				//the rows before the first to change are shared
+				copy = new int[values.length][];
+				System.arraycopy(shared, 0, copy, 0, i);
+			}
+			if (copy != null) copy[i] = row;
+		}
+		return (copy == null) ? shared : copy;
+	}
+
+	/**
+	 * Gives the shared copy of some values if they have not changed, or
+	 * a new copy if they have.
+	 */
+	private static int[] share(int[] shared, int[] values)
+	{
+		return (shared != null && Arrays.equals(shared, values)) ? shared : values.clone();
+	}
+
+	/**
+	 * Gives the shared copy of some flags if they have not changed, or a
+	 * new copy if they have.
+	 */
+	private static boolean[] share(boolean[] shared, boolean[] values)
+	{
+		return (shared != null && Arrays.equals(shared, values)) ? shared : values.clone();
+	}
+
+	/**
+	 * Get which of its game's snapshots this state is.  Each time a game's
+	 * state changes it makes a new snapshot with a higher version, so of
+	 * two snapshots of one game, the one with the higher version is newer.
+	 * 
+	 * @return the version, or 0 if this state is not a snapshot
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Copies the health of each Pokemon out of Vectors.
+	 */
+	private static int[][] copyHP(Vector<Vector<Integer>> hp)
+	{
+		int[][] array = new int[hp.size()][];
+		for (int i = 0; i < array.length; i++){
+			array[i] = new int[hp.get(i).size()];
+			for (int j = 0; j < array[i].length; j++){
+				array[i][j] = hp.get(i).get(j).intValue();
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * Copies the PP of each move out of Vectors.
+	 */
+	private static int[][][] copyPP(Vector<Vector<Integer[]>> pp)
+	{
+		int[][][] array = new int[pp.size()][][];
+		for (int i = 0; i < array.length; i++){
+			array[i] = new int[pp.get(i).size()][];
+			for (int j = 0; j < array[i].length; j++){
+				Integer[] moves = pp.get(i).get(j);
+				array[i][j] = new int[moves.length];
+				for (int k = 0; k < moves.length; k++){
+					array[i][j][k] = moves[k].intValue();
+				}
+			}
+		}
+		return array;
 	}
 
 	/**
@@ -69,28 +263,24 @@ public class PkmnState extends GameState
 	 * @return the specified player's current Pokemon's current health.
 	 */
 	public int getCurrHP(int player) {
-		PkmnPokemon pokemon = getCurrPokemon(player);
-		//finds the given pokemon out of the current pokemon
-		for (PkmnPokemon thisPkmn:pokemonTeam.get(player)){
-			if (thisPkmn.toString().equals(pokemon.toString())){
-				// return the current Pokemon's health
-				return currHP.get(player).get(pokemonTeam.get(player).indexOf(thisPkmn)).intValue();
-			}
-		}
-		return -1; 
+		int slot = teamIndex.getCurrSlot(player);
+		// return the current Pokemon's health
+		return (slot < 0) ? -1 : currHP[player][slot];
 	}
 	
+	/**
+	 * Get the PP left of one of the specified player's current Pokemon's moves
+	 * 
+	 * @return the move's PP, or -1 if the current Pokemon does not have the move
+	 */
 	public int getCurrMovePP(int player, PkmnMove move)
 	{
-		PkmnPokemon pokemon = getCurrPokemon(player);
+		int slot = teamIndex.getCurrSlot(player);
+		if (slot < 0) return -1;
 		//find the move
-		for (int i = 0; i < 4; i++)
-		{
-			if(pokemon.moveset[i].toString().equals(move.toString()))
-				//return the move pp
-				return currMovePP.get(player).get(0)[i];
-		}
-		return -1; 
+		int moveIndex = PkmnDamageTable.moveIndex(getCurrPokemon(player), move);
+		//return the move pp
+		return (moveIndex < 0) ? -1 : currMovePP[player][slot][moveIndex];
 	}
 
 	/**
@@ -115,7 +305,7 @@ public class PkmnState extends GameState
 	
 	/**
 	 * Get the boolean array representing
-	 * if an attack missed.
+	 * if an attack missed.  The array is shared, so must not be changed.
 	 * 
 	 * @return missedAttack
 	 */
@@ -150,12 +340,7 @@ public class PkmnState extends GameState
 	 */
 	public PkmnPokemon getPokemon(int player,PkmnPokemon pokemon) {
 		// finds the given pokemon
-		for (PkmnPokemon thisPkmn:pokemonTeam.get(player)){
-			if (thisPkmn.toString().equals(pokemon.toString())){
-				return thisPkmn;
-			}
-		}
-		return null; 
+		return (teamIndex.getSlot(player, pokemon) < 0) ? null : pokemon;
 	}
 
 	/**
@@ -165,12 +350,7 @@ public class PkmnState extends GameState
 	 */
 	public PkmnPokemon getPokemon(int player,String pokemon) {
 		// finds the given pokemon
-		for (PkmnPokemon thisPkmn:pokemonTeam.get(player)){
-			if (thisPkmn.toString().equals(pokemon)){
-				return thisPkmn;
-			}
-		}
-		return null; 
+		return getPokemon(player, PkmnPokemon.forName(pokemon));
 	}
 
 	/**
@@ -180,7 +360,7 @@ public class PkmnState extends GameState
 	 */
 	public int getHP(int player, int pokemon) {
 		// return the specified Pokemon's health
-		return currHP.get(player).get(pokemon).intValue();
+		return currHP[player][pokemon];
 	}
 
 	/**
@@ -189,14 +369,10 @@ public class PkmnState extends GameState
 	 * @return the specified Pokemon's current health.
 	 */
 	public int getHP(int player,PkmnPokemon pokemon) {
-		//finds the given pokemon out of the current pokemon
-		for (PkmnPokemon thisPkmn:pokemonTeam.get(player)){
-			if (thisPkmn.toString().equals(pokemon.toString())){
-				// return the specified Pokemon's health
-				return currHP.get(player).get(pokemonTeam.get(player).indexOf(thisPkmn)).intValue();
-			}
-		}
-		return -1; 
+		//finds the given pokemon in the team
+		int slot = teamIndex.getSlot(player, pokemon);
+		// return the specified Pokemon's health
+		return (slot < 0) ? -1 : currHP[player][slot];
 	}
 
 	/**
@@ -205,14 +381,118 @@ public class PkmnState extends GameState
 	 * @return the specified Pokemon's current health.
 	 */
 	public int getHP(int player,String pokemon) {
-		//finds the given pokemon out of the current pokemon
-		for (PkmnPokemon thisPkmn:pokemonTeam.get(player)){
-			if (thisPkmn.toString().equals(pokemon)){
-				// return the specified Pokemon's health
-				return currHP.get(player).get(pokemonTeam.get(player).indexOf(thisPkmn)).intValue();
+		return getHP(player, PkmnPokemon.forName(pokemon));
+	}
+
+	/**
+	 * Finds what changed between this state and a newer one.  Parts that
+	 * two snapshots share are known not to have changed, so are skipped;
+	 * other states are compared value by value.  States that are not
+	 * snapshots but share their HP or PP tables (e.g., two views of a
+	 * game's live state) always show the same values, so cannot be
+	 * compared.
+	 * 
+	 * @param newer the newer state
+	 * @return the changes, or null if the states' teams differ (e.g., while
+	 *  they are being chosen), in which case the whole state must be used
+	 * @throws IllegalArgumentException if the states are not both
+	 *  snapshots, and share a table
+	 */
+	public PkmnStateDelta diff(PkmnState newer)
+	{
+		if (!sameTeams(newer)) return null;
+		PkmnStateDelta delta = new PkmnStateDelta(version, newer.version,
+				newer.isPkmnSelect, newer.gameWinner);
+		boolean snapshots = version > 0 && newer.version > 0;
+
+		for (int i = 0; i < currHP.length; i++){
+			if (currHP[i] == newer.currHP[i]){
+				if (snapshots) continue;
+				throw new IllegalArgumentException("views that share the game's live state cannot be compared");
+			}
+			for (int j = 0; j < currHP[i].length; j++){
+				if (currHP[i][j] != newer.currHP[i][j]) delta.addHP(i, j, newer.currHP[i][j]);
+			}
+		}
+		for (int i = 0; i < currMovePP.length; i++){
+			if (currMovePP[i] == newer.currMovePP[i] && snapshots) continue;
+			for (int j = 0; j < currMovePP[i].length; j++){
+				int[] before = currMovePP[i][j];
+				int[] after = newer.currMovePP[i][j];
+				if (before == after){
+					if (snapshots) continue;
+					throw new IllegalArgumentException("views that share the game's live state cannot be compared");
+				}
+				for (int k = 0; k < before.length; k++){
+					if (before[k] != after[k]) delta.addPP(i, j, k, after[k]);
+				}
 			}
 		}
-		return -1; 
+
+		if (!Arrays.equals(hasMoved, newer.hasMoved) || !Arrays.equals(missedAttack, newer.missedAttack)
+				|| isPkmnSelect != newer.isPkmnSelect){
+			delta.setFlags(newer.hasMoved, newer.missedAttack);
+		}
+		if (gameWinner != newer.gameWinner) delta.setWinnerChanged();
+		return delta;
+	}
+
+	/**
+	 * Tells whether a state has the same teams, and so the same HP and PP
+	 * tables, as this one.
+	 */
+	private boolean sameTeams(PkmnState other)
+	{
+		if (pokemonTeam != other.pokemonTeam && !pokemonTeam.equals(other.pokemonTeam)) return false;
+		if (currPokemon != other.currPokemon && !currPokemon.equals(other.currPokemon)) return false;
+		if (currHP.length != other.currHP.length || currMovePP.length != other.currMovePP.length) return false;
+		for (int i = 0; i < currHP.length; i++){
+			if (currHP[i].length != other.currHP[i].length) return false;
+			if (currMovePP[i].length != other.currMovePP[i].length) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Makes the state that a delta leads to from this one.  This state is
+	 * not changed; the new one shares with it everything the delta does
+	 * not change.
+	 * 
+	 * @param delta the changes, found by diff from a state of this version
+	 * @return the newer state
+	 * @throws IllegalArgumentException if the delta is not from this version
+	 */
+	public PkmnState apply(PkmnStateDelta delta)
+	{
+		if (delta.getFromVersion() != version){
+			throw new IllegalArgumentException("the changes are from version " + delta.getFromVersion()
+					+ ", not " + version);
+		}
+
+		int[] changes = delta.getHPChanges();
+		int[][] hp = (changes.length == 0) ? currHP : currHP.clone();
+		for (int c = 0; c < changes.length; c += 3){
+			int i = changes[c];
+			if (hp[i] == currHP[i]) hp[i] = currHP[i].clone();
+			hp[i][changes[c+1]] = changes[c+2];
+		}
+
+		changes = delta.getPPChanges();
+		int[][][] pp = (changes.length == 0) ? currMovePP : currMovePP.clone();
+		for (int c = 0; c < changes.length; c += 4){
+			int i = changes[c];
+			int j = changes[c+1];
+			if (pp[i] == currMovePP[i]) pp[i] = currMovePP[i].clone();
+			if (pp[i][j] == currMovePP[i][j]) pp[i][j] = currMovePP[i][j].clone();
+			pp[i][j][changes[c+2]] = changes[c+3];
+		}
+
+		PkmnState st = new PkmnState(pokemonTeam, currPokemon, teamIndex, hp, pp,
+				delta.changesFlags() ? delta.getHasMoved().clone() : hasMoved,
+				delta.changesFlags() ? delta.getMissedAttack().clone() : missedAttack,
+				delta.isPkmnSelect(), delta.gameWinner());
+		st.version = delta.getToVersion();
+		return st;
 	}
 
 	/**
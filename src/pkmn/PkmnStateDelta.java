@@ -0,0 +1,271 @@
+package pkmn;
+
+import java.util.Arrays;
+
+/**
+ * The changes between two snapshots of a game's state: the HP of each
+ * Pokemon and the PP of each move that changed, and the flags and winner
+ * if they changed.  A turn changes a few of these values, so a delta is
+ * much smaller than the state it leads to, which makes it the thing to
+ * send over a network or to use to decide what to repaint.
+ *
+ * A delta is made by PkmnState.diff and applied by PkmnState.apply.  It
+ * only covers states whose teams are the same; while the teams are being
+ * chosen, the whole state must be used instead.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnStateDelta
+{
+	//the versions of the states the delta leads from and to
+	private long fromVersion;
+	private long toVersion;
+	//the HP that changed, as (player, slot, hp), and how many values are used
+	private int[] hp;
+	private int hpLength;
+	//the PP that changed, as (player, slot, move, pp), and how many values are used
+	private int[] pp;
+	private int ppLength;
+	//whether the flags changed, and their new values
+	private boolean flagsChanged;
+	private boolean[] hasMoved;
+	private boolean[] missedAttack;
+	private boolean isPkmnSelect;
+	//whether the winner changed, and who it is now
+	private boolean winnerChanged;
+	private int gameWinner;
+
+	/**
+	 * Constructor for an empty PkmnStateDelta, to which PkmnState.diff
+	 * adds the changes it finds.
+	 *
+	 * @param fromVersion the version of the older state
+	 * @param toVersion the version of the newer state
+	 * @param isPkmnSelect whether the newer state is in the selection stage
+	 * @param gameWinner the winner in the newer state, or -1
+	 */
+	PkmnStateDelta(long fromVersion, long toVersion, boolean isPkmnSelect, int gameWinner)
+	{
+		this.fromVersion = fromVersion;
+		this.toVersion = toVersion;
+		hp = new int[0];
+		hpLength = 0;
+		pp = new int[0];
+		ppLength = 0;
+		flagsChanged = false;
+		hasMoved = null;
+		missedAttack = null;
+		this.isPkmnSelect = isPkmnSelect;
+		winnerChanged = false;
+		this.gameWinner = gameWinner;
+	}
+
+	/**
+	 * Records a change to the HP of a Pokemon.
+	 *
+	 * @param player the id of the player
+	 * @param slot the Pokemon's slot in the player's team
+	 * @param value its new HP
+	 */
+	void addHP(int player, int slot, int value)
+	{
+		if (hpLength + 3 > hp.length) hp = Arrays.copyOf(hp, Math.max(6, hp.length * 2));
+		hp[hpLength++] = player;
+		hp[hpLength++] = slot;
+		hp[hpLength++] = value;
+	}
+
+	/**
+	 * Records a change to the PP of a move.
+	 *
+	 * @param player the id of the player
+	 * @param slot the Pokemon's slot in the player's team
+	 * @param move the move's index in the Pokemon's moveset
+	 * @param value its new PP
+	 */
+	void addPP(int player, int slot, int move, int value)
+	{
+		if (ppLength + 4 > pp.length) pp = Arrays.copyOf(pp, Math.max(8, pp.length * 2));
+		pp[ppLength++] = player;
+		pp[ppLength++] = slot;
+		pp[ppLength++] = move;
+		pp[ppLength++] = value;
+	}
+
+	/**
+	 * Records that the flags changed.
+	 *
+	 * @param hasMoved whether each player has moved, in the newer state
+	 * @param missedAttack whether each player's attack missed, in the newer state
+	 */
+	void setFlags(boolean[] hasMoved, boolean[] missedAttack)
+	{
+		flagsChanged = true;
+		this.hasMoved = hasMoved.clone();
+		this.missedAttack = missedAttack.clone();
+	}
+
+	/**
+	 * Records that the winner changed.
+	 */
+	void setWinnerChanged()
+	{
+		winnerChanged = true;
+	}
+
+	/**
+	 * Get the HP that changed, as (player, slot, hp) triples.
+	 *
+	 * @return a copy of the changes
+	 */
+	public int[] getHPChanges()
+	{
+		return Arrays.copyOf(hp, hpLength);
+	}
+
+	/**
+	 * Get the PP that changed, as (player, slot, move, pp) quadruples.
+	 *
+	 * @return a copy of the changes
+	 */
+	public int[] getPPChanges()
+	{
+		return Arrays.copyOf(pp, ppLength);
+	}
+
+	/**
+	 * Get the version of the state the delta leads from.
+	 *
+	 * @return fromVersion
+	 */
+	public long getFromVersion() { return fromVersion; }
+
+	/**
+	 * Get the version of the state the delta leads to.
+	 *
+	 * @return toVersion
+	 */
+	public long getToVersion() { return toVersion; }
+
+	/**
+	 * Get how many values changed: each HP, each PP, the flags (as one)
+	 * and the winner.
+	 *
+	 * @return the number of changes
+	 */
+	public int size()
+	{
+		return hpLength/3 + ppLength/4 + (flagsChanged ? 1 : 0) + (winnerChanged ? 1 : 0);
+	}
+
+	/**
+	 * Tells whether nothing changed.
+	 *
+	 * @return true if the two states are the same
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	/**
+	 * Tells whether the HP of any of a player's Pokemon changed.
+	 *
+	 * @param player the id of the player
+	 * @return true if any of their HP changed
+	 */
+	public boolean changesHP(int player)
+	{
+		for (int i = 0; i < hpLength; i += 3)
+		{
+			if (hp[i] == player) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the PP of any of a player's moves changed.
+	 *
+	 * @param player the id of the player
+	 * @return true if any of their PP changed
+	 */
+	public boolean changesPP(int player)
+	{
+		for (int i = 0; i < ppLength; i += 4)
+		{
+			if (pp[i] == player) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether any of the flags (who has moved, whose attack missed,
+	 * and whether Pokemon are being chosen) changed.
+	 *
+	 * @return true if the flags changed
+	 */
+	public boolean changesFlags() { return flagsChanged; }
+
+	/**
+	 * Tells whether the winner changed.
+	 *
+	 * @return true if the winner changed
+	 */
+	public boolean changesWinner() { return winnerChanged; }
+
+	/**
+	 * Get whether a player has moved, in the newer state.
+	 *
+	 * @param player the id of the player
+	 * @return hasMoved[player]
+	 * @throws IllegalStateException if the flags did not change
+	 */
+	public boolean getHasMoved(int player)
+	{
+		if (!flagsChanged) throw new IllegalStateException("the flags did not change");
+		return hasMoved[player];
+	}
+
+	/**
+	 * Get whether a player's attack missed, in the newer state.
+	 *
+	 * @param player the id of the player
+	 * @return missedAttack[player]
+	 * @throws IllegalStateException if the flags did not change
+	 */
+	public boolean getMissedAttack(int player)
+	{
+		if (!flagsChanged) throw new IllegalStateException("the flags did not change");
+		return missedAttack[player];
+	}
+
+	/**
+	 * Get the flags of every player, or null if they did not change.
+	 *
+	 * @return hasMoved; the array must not be changed
+	 */
+	boolean[] getHasMoved() { return hasMoved; }
+
+	/**
+	 * Get whether each player's attack missed, or null if the flags did
+	 * not change.
+	 *
+	 * @return missedAttack; the array must not be changed
+	 */
+	boolean[] getMissedAttack() { return missedAttack; }
+
+	/**
+	 * Get whether the newer state is in the selection stage.
+	 *
+	 * @return isPkmnSelect
+	 */
+	public boolean isPkmnSelect() { return isPkmnSelect; }
+
+	/**
+	 * Get the winner in the newer state.
+	 *
+	 * @return the ID of the winner if there is one, otherwise -1
+	 */
+	public int gameWinner() { return gameWinner; }
+}
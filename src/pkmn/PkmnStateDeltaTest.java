@@ -0,0 +1,203 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.Vector;
+
+/**
+ * Test class for PkmnStateDelta.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnStateDeltaTest
+{
+	//Instance of PkmnGameImpl to take states from.
+	PkmnGameImpl game = null;
+
+	@Before
+	/**
+	 * Create a game that is ready to battle.
+	 */
+	public void setUp()
+	{
+		game = new PkmnGameImpl(2, 1L);
+		game.setBattlePause(0);
+		game.initializeGame();
+		game.selectPokemon(0, PkmnPokemon.Charizard);
+		game.selectPokemon(1, PkmnPokemon.Blastoise);
+	}
+
+	/**
+	 * Make sure two states agree on everything a player can see.
+	 */
+	private void assertSameState(PkmnState expected, PkmnState actual)
+	{
+		assertEquals(expected.getVersion(), actual.getVersion());
+		for (int player = 0; player < 2; player++)
+		{
+			PkmnPokemon pokemon = expected.getCurrPokemon(player);
+			assertTrue(actual.getCurrPokemon(player) == pokemon);
+			assertEquals(expected.getHP(player, 0), actual.getHP(player, 0));
+			for (PkmnMove move : pokemon.getMoveSet())
+			{
+				assertEquals(expected.getCurrMovePP(player, move), actual.getCurrMovePP(player, move));
+			}
+			assertEquals(expected.getHasMoved(player), actual.getHasMoved(player));
+			assertEquals(expected.getMissedAttack()[player], actual.getMissedAttack()[player]);
+		}
+		assertEquals(expected.isPkmnSelect(), actual.isPkmnSelect());
+		assertEquals(expected.gameWinner(), actual.gameWinner());
+	}
+
+	@Test
+	/**
+	 * A local copy patched with each turn's changes follows the game to
+	 * its end.
+	 */
+	public void testDiffAndApply()
+	{
+		PkmnState local = (PkmnState)game.getGameState(null, 0);
+		while (local.gameWinner() < 0)
+		{
+			game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+			game.selectAttack(1, PkmnPokemon.Blastoise.getMoveSet()[1]);
+			PkmnState st = (PkmnState)game.getGameState(null, 0);
+			PkmnStateDelta delta = local.diff(st);
+
+			//a turn changes a few values, and both players used PP
+			assertTrue(delta.size() > 0 && delta.size() < 8);
+			assertTrue(delta.changesPP(0) && delta.changesPP(1));
+			assertEquals(st.gameWinner() >= 0, delta.changesWinner());
+
+			PkmnState patched = local.apply(delta);
+			assertSameState(st, patched);
+			local = patched;
+		}
+	}
+
+	@Test
+	/**
+	 * A state has no changes from itself, and only the flags change when
+	 * a player picks an attack.
+	 */
+	public void testSmallChanges()
+	{
+		PkmnState before = (PkmnState)game.getGameState(null, 0);
+		assertTrue(before.diff(before).isEmpty());
+
+		game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+		PkmnStateDelta delta = before.diff((PkmnState)game.getGameState(null, 0));
+		assertEquals(1, delta.size());
+		assertTrue(delta.changesFlags() && delta.getHasMoved(0) && !delta.getHasMoved(1));
+		assertFalse(delta.changesHP(0) || delta.changesHP(1));
+	}
+
+	@Test
+	/**
+	 * A delta gives the new values of the HP and PP that changed.
+	 */
+	public void testChangedValues()
+	{
+		PkmnState before = (PkmnState)game.getGameState(null, 0);
+		game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+		game.selectAttack(1, PkmnPokemon.Blastoise.getMoveSet()[1]);
+		PkmnState after = (PkmnState)game.getGameState(null, 0);
+		PkmnStateDelta delta = before.diff(after);
+
+		int[] hp = delta.getHPChanges();
+		for (int c = 0; c < hp.length; c += 3)
+		{
+			assertEquals(after.getHP(hp[c], hp[c+1]), hp[c+2]);
+		}
+		int[] pp = delta.getPPChanges();
+		assertTrue(pp.length > 0);
+		for (int c = 0; c < pp.length; c += 4)
+		{
+			PkmnMove move = after.getCurrPokemon(pp[c]).getMoveSet()[pp[c+2]];
+			assertEquals(after.getCurrMovePP(pp[c], move), pp[c+3]);
+		}
+	}
+
+	/**
+	 * Makes a state of a Charizard and a Blastoise, with its own tables.
+	 */
+	private static PkmnState view(int hp0, int hp1)
+	{
+		Vector<Vector<PkmnPokemon>> teams = new Vector<Vector<PkmnPokemon>>();
+		Vector<PkmnPokemon> curr = new Vector<PkmnPokemon>();
+		Vector<Vector<Integer>> hp = new Vector<Vector<Integer>>();
+		Vector<Vector<Integer[]>> pp = new Vector<Vector<Integer[]>>();
+		PkmnPokemon[] pokemon = {PkmnPokemon.Charizard, PkmnPokemon.Blastoise};
+		int[] hps = {hp0, hp1};
+		for (int player = 0; player < 2; player++)
+		{
+			teams.add(new Vector<PkmnPokemon>());
+			teams.get(player).add(pokemon[player]);
+			curr.add(pokemon[player]);
+			hp.add(new Vector<Integer>());
+			hp.get(player).add(hps[player]);
+			Integer[] moves = new Integer[4];
+			for (int m = 0; m < 4; m++) moves[m] = pokemon[player].getMoveSet()[m].getPP();
+			pp.add(new Vector<Integer[]>());
+			pp.get(player).add(moves);
+		}
+		return new PkmnState(teams, curr, hp, pp, new boolean[2], new boolean[2], false, -1);
+	}
+
+	@Test
+	/**
+	 * States that are not snapshots are compared value by value, unless
+	 * they are views of the same live state, which cannot be compared.
+	 */
+	public void testViews()
+	{
+		PkmnStateDelta delta = view(360, 548).diff(view(360, 289));
+		assertEquals(1, delta.size());
+		assertTrue(delta.changesHP(1) && !delta.changesHP(0));
+		assertEquals(289, delta.getHPChanges()[2]);
+
+		PkmnState before = game.getLiveState();
+		game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+		game.selectAttack(1, PkmnPokemon.Blastoise.getMoveSet()[1]);
+		PkmnState after = game.getLiveState();
+		try
+		{
+			before.diff(after);
+			fail("two views of the live state were compared");
+		}
+		catch (IllegalArgumentException iae)
+		{
+			//expected
+		}
+	}
+
+	@Test
+	/**
+	 * States with different teams have no delta, and a delta applies only
+	 * to the state it is from.
+	 */
+	public void testMismatches()
+	{
+		PkmnGameImpl other = new PkmnGameImpl(2, 1L);
+		other.initializeGame();
+		other.selectPokemon(0, PkmnPokemon.Pikachu);
+		other.selectPokemon(1, PkmnPokemon.Blastoise);
+		PkmnState st = (PkmnState)game.getGameState(null, 0);
+		assertNull(st.diff((PkmnState)other.getGameState(null, 0)));
+
+		game.selectAttack(0, PkmnPokemon.Charizard.getMoveSet()[0]);
+		PkmnState newer = (PkmnState)game.getGameState(null, 0);
+		PkmnStateDelta delta = st.diff(newer);
+		try
+		{
+			newer.apply(delta);
+			fail("a delta was applied to the wrong state");
+		}
+		catch (IllegalArgumentException iae)
+		{
+			//expected
+		}
+	}
+}
@@ -195,4 +195,65 @@ public class PkmnStateTest {
 
 	}
 
+	/**
+	 * test the lookups by Pokemon, by name and by move
+	 * 
+	 */
+	@Test
+	public void lookups() {
+		//make sure a pokemon is found by itself and by its name, and only in its own team
+		assertTrue(myState.getHP(0,PkmnPokemon.Bulbasaur)==currHP.get(0).get(0));
+		assertTrue(myState.getHP(1,"Pikachu")==currHP.get(1).get(0));
+		assertTrue(myState.getPokemon(1,"Pikachu")==PkmnPokemon.Pikachu);
+		assertTrue(myState.getPokemon(0,PkmnPokemon.Pikachu)==null);
+		assertTrue(myState.getHP(0,"Missingno")==-1);
+		//a move the pokemon does not have has no pp
+		assertTrue(myState.getCurrMovePP(0,PkmnMove.Surf)==-1);
+	}
+
+	/**
+	 * test that a game's snapshots do not change as the game goes on
+	 * 
+	 */
+	@Test
+	public void snapshots() {
+		PkmnGameImpl game = new PkmnGameImpl(2, 5);
+		game.initializeGame();
+		game.selectPokemon(0, PkmnPokemon.Bulbasaur);
+		game.selectPokemon(1, PkmnPokemon.Pikachu);
+		PkmnState before = (PkmnState)game.getGameState(null, 0);
+		//every reader shares the latest snapshot
+		assertTrue(game.getGameState(null, 0)==before);
+
+		game.selectAttack(0, PkmnPokemon.Bulbasaur.moveset[0]);
+		game.selectAttack(1, PkmnPokemon.Pikachu.moveset[0]);
+		PkmnState after = (PkmnState)game.getGameState(null, 0);
+		assertTrue(after.getVersion()>before.getVersion());
+
+		//the old snapshot still shows the state before the turn
+		assertEquals(PkmnPokemon.Bulbasaur.hp, before.getHP(0,0));
+		assertEquals(PkmnPokemon.Pikachu.hp, before.getHP(1,0));
+		assertEquals(PkmnPokemon.Bulbasaur.moveset[0].getPP(),
+				before.getCurrMovePP(0,PkmnPokemon.Bulbasaur.moveset[0]));
+		assertEquals(PkmnPokemon.Bulbasaur.moveset[0].getPP()-1,
+				after.getCurrMovePP(0,PkmnPokemon.Bulbasaur.moveset[0]));
+		assertFalse(after.getHasMoved(0) || after.getHasMoved(1));
+		assertTrue(after.getPokemon(1,0)==PkmnPokemon.Pikachu);
+	}
+
+	/**
+	 * test that a new game already has a snapshot, showing no winner and
+	 * the selection stage, before it is initialized
+	 * 
+	 */
+	@Test
+	public void firstSnapshot() {
+		PkmnGameImpl game = new PkmnGameImpl(2, 5);
+		PkmnState st = (PkmnState)game.getGameState(null, 0);
+		assertEquals(1, st.getVersion());
+		assertEquals(-1, st.gameWinner());
+		assertTrue(st.isPkmnSelect());
+		assertTrue(game.getGameState(null, 0)==st);
+	}
+
 }
@@ -0,0 +1,123 @@
+package pkmn;
+
+import java.util.Arrays;
+import java.util.Vector;
+
+/**
+ * Where each player's Pokemon are in their team, so that a Pokemon's slot
+ * (and so its HP and PP) can be found without searching the team.  For
+ * each player it keeps the slot of every Pokemon, by ordinal, and the slot
+ * of the current Pokemon.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnTeamIndex
+{
+	//the slot of each Pokemon in each player's team, by ordinal, or -1
+	private int[][] slot;
+	//the slot of each player's current Pokemon, or -1 before there is one
+	private int[] currSlot;
+
+	/**
+	 * Constructor for an empty PkmnTeamIndex
+	 *
+	 * @param numPlayers the number of players
+	 */
+	public PkmnTeamIndex(int numPlayers)
+	{
+		slot = new int[numPlayers][PkmnPokemon.values().length];
+		for (int[] s : slot) Arrays.fill(s, -1);
+		currSlot = new int[numPlayers];
+		Arrays.fill(currSlot, -1);
+	}
+
+	/**
+	 * Constructor for a PkmnTeamIndex of existing teams.
+	 *
+	 * @param pokemonTeam each player's team
+	 * @param currPokemon each player's current Pokemon, if chosen yet
+	 */
+	public PkmnTeamIndex(Vector<Vector<PkmnPokemon>> pokemonTeam, Vector<PkmnPokemon> currPokemon)
+	{
+		this(pokemonTeam.size());
+		for (int player = 0; player < pokemonTeam.size(); player++)
+		{
+			Vector<PkmnPokemon> team = pokemonTeam.get(player);
+			for (int i = 0; i < team.size(); i++) add(player, team.get(i), i);
+			if (player < currPokemon.size()) currSlot[player] = getSlot(player, currPokemon.get(player));
+		}
+	}
+
+	/**
+	 * Constructor for a copy of a PkmnTeamIndex, which does not see later
+	 * changes to the original.
+	 *
+	 * @param other the index to copy
+	 */
+	public PkmnTeamIndex(PkmnTeamIndex other)
+	{
+		slot = new int[other.slot.length][];
+		for (int player = 0; player < slot.length; player++) slot[player] = other.slot[player].clone();
+		currSlot = other.currSlot.clone();
+	}
+
+	/**
+	 * Records that a Pokemon is in a player's team.  If the Pokemon is in
+	 * the team more than once, its first slot is kept.
+	 *
+	 * @param player the id of the player
+	 * @param pokemon the Pokemon
+	 * @param s its slot in the team
+	 */
+	public void add(int player, PkmnPokemon pokemon, int s)
+	{
+		if (slot[player][pokemon.ordinal()] < 0) slot[player][pokemon.ordinal()] = s;
+	}
+
+	/**
+	 * Records which of a player's Pokemon is the current one.
+	 *
+	 * @param player the id of the player
+	 * @param s the slot of the current Pokemon
+	 */
+	public void setCurrSlot(int player, int s)
+	{
+		currSlot[player] = s;
+	}
+
+	/**
+	 * Get the slot of a player's current Pokemon.
+	 *
+	 * @param player the id of the player
+	 * @return the slot, or -1 if there is no current Pokemon
+	 */
+	public int getCurrSlot(int player)
+	{
+		return currSlot[player];
+	}
+
+	/**
+	 * Get the slot of a Pokemon in a player's team.
+	 *
+	 * @param player the id of the player
+	 * @param pokemon the Pokemon
+	 * @return the slot, or -1 if the Pokemon is not in the team
+	 */
+	public int getSlot(int player, PkmnPokemon pokemon)
+	{
+		return (pokemon == null) ? -1 : slot[player][pokemon.ordinal()];
+	}
+
+	/**
+	 * Get the slot of a Pokemon in a player's team by its name.
+	 *
+	 * @param player the id of the player
+	 * @param name the name of the Pokemon
+	 * @return the slot, or -1 if the Pokemon is not in the team
+	 */
+	public int getSlot(int player, String name)
+	{
+		return getSlot(player, PkmnPokemon.forName(name));
+	}
+}
@@ -0,0 +1,387 @@
+package pkmn;
+
+import java.io.*;
+import java.util.Vector;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ai.CommonAI;
+import ai.HealingAI;
+
+/**
+ * Plays a round-robin tournament: every Pokemon against every other
+ * Pokemon, with each kind of AI controlling each side, a number of times
+ * per pairing.  The battles are played headlessly by PkmnSimulator and
+ * spread across threads; each pairing is tallied on its own thread and
+ * then added to shared atomic counters, so threads never wait on a lock.
+ *
+ * A tournament's seed decides every battle, so the tally is the same
+ * however many threads play it.  The tally can be written as CSV, or as
+ * a binary file: the int MAGIC, the number of Pokemon and their names,
+ * the number of AIs and their names, then for each entry (in the order
+ * of entry()) the battles won by player 0, won by player 1, drawn, and
+ * the turns taken, as longs.
+ *
+ * Usage: PkmnTournament [-n games] [-s seed] [-t threads] [-c csvFile] [-b binaryFile]
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnTournament
+{
+	//the first int of a tournament file ("PKTR")
+	public static final int MAGIC = 0x504b5452;
+
+	//the AIs that can control a side
+	public static final String[] AI_NAMES = {"CommonAI", "HealingAI"};
+
+	//what is counted for each entry, and where in its counters
+	private static final int WINS0 = 0;
+	private static final int WINS1 = 1;
+	private static final int DRAWS = 2;
+	private static final int TURNS = 3;
+	private static final int COUNTERS = 4;
+
+	//how many battles to play for each pairing if none is given
+	private static final int DEFAULT_GAMES = 10;
+
+	//the Pokemon taking part
+	private PkmnPokemon[] pokemon;
+	//how many battles are played for each pairing of Pokemon and AIs
+	private int games;
+	//the counters of every entry
+	private AtomicLongArray counts;
+	//how long the tournament took to play, in nanoseconds
+	private long elapsedNanos;
+
+	/**
+	 * Runs a tournament of every Pokemon from the command line.
+	 *
+	 * @param args the optional "-n games", "-s seed", "-t threads",
+	 *  "-c csvFile" and "-b binaryFile"
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int games = DEFAULT_GAMES;
+		long seed = System.nanoTime();
+		int threads = Runtime.getRuntime().availableProcessors();
+		String csv = null;
+		String binary = null;
+
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("-n") && i+1 < args.length)
+			{
+				games = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-s") && i+1 < args.length)
+			{
+				seed = Long.parseLong(args[++i]);
+			}
+			else if (args[i].equals("-t") && i+1 < args.length)
+			{
+				threads = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-c") && i+1 < args.length)
+			{
+				csv = args[++i];
+			}
+			else if (args[i].equals("-b") && i+1 < args.length)
+			{
+				binary = args[++i];
+			}
+			else
+			{
+				System.err.println("usage: PkmnTournament [-n games] [-s seed] [-t threads]"
+						+ " [-c csvFile] [-b binaryFile]");
+				System.exit(1);
+			}
+		}
+
+		System.out.println("seed: " + seed);
+		PkmnTournament tournament = new PkmnTournament(PkmnPokemon.values(), games);
+		tournament.play(seed, threads);
+		System.out.printf("%d battles on %d threads in %.3f s, %.0f battles/s%n",
+				tournament.getBattles(), threads, tournament.getElapsedNanos() / 1e9,
+				tournament.getBattles() * 1e9 / Math.max(1, tournament.getElapsedNanos()));
+		if (csv != null) tournament.writeCsv(new File(csv));
+		if (binary != null) tournament.writeBinary(new File(binary));
+	}
+
+	/**
+	 * Constructor for PkmnTournament
+	 *
+	 * @param pokemon the Pokemon taking part
+	 * @param games how many battles to play for each pairing of Pokemon and AIs
+	 */
+	public PkmnTournament(PkmnPokemon[] pokemon, int games)
+	{
+		this.pokemon = pokemon.clone();
+		this.games = games;
+		counts = new AtomicLongArray(pokemon.length*pokemon.length
+				* AI_NAMES.length*AI_NAMES.length * COUNTERS);
+	}
+
+	/**
+	 * Creates a new AI of the given kind.
+	 *
+	 * @param ai the index of the AI in AI_NAMES
+	 * @return the AI
+	 */
+	public static CommonAI newAI(int ai)
+	{
+		return (ai == 0) ? new CommonAI() : new HealingAI();
+	}
+
+	/**
+	 * Get the index of an entry: one pairing of Pokemon and AIs.
+	 *
+	 * @param p0 the index of player 0's Pokemon among the tournament's Pokemon
+	 * @param p1 the index of player 1's Pokemon
+	 * @param ai0 the index of player 0's AI in AI_NAMES
+	 * @param ai1 the index of player 1's AI
+	 * @return the entry
+	 */
+	private int entry(int p0, int p1, int ai0, int ai1)
+	{
+		return ((p0*pokemon.length + p1)*AI_NAMES.length + ai0)*AI_NAMES.length + ai1;
+	}
+
+	/**
+	 * Plays the tournament, adding to any battles already played.  Every
+	 * Pokemon plays every other Pokemon as both player 0 and player 1.
+	 *
+	 * @param seed the seed from which each entry's seed is drawn
+	 * @param threads how many threads to play the battles on
+	 */
+	public void play(long seed, int threads)
+	{
+		//draw the seed of every entry up front, in order
+		final long[] entrySeeds = new long[pokemon.length*pokemon.length
+				* AI_NAMES.length*AI_NAMES.length];
+		PkmnRandom seeds = new PkmnRandom(seed);
+		for (int i = 0; i < entrySeeds.length; i++) entrySeeds[i] = seeds.nextLong();
+
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+		Vector<Future<?>> tasks = new Vector<Future<?>>();
+		for (int i = 0; i < pokemon.length; i++)
+		{
+			for (int j = 0; j < pokemon.length; j++)
+			{
+				if (i == j) continue;
+				for (int a = 0; a < AI_NAMES.length; a++)
+				{
+					for (int b = 0; b < AI_NAMES.length; b++)
+					{
+						final int p0 = i, p1 = j, ai0 = a, ai1 = b;
+						tasks.add(pool.submit(new Runnable() {
+							public void run()
+							{
+								playEntry(p0, p1, ai0, ai1, entrySeeds[entry(p0, p1, ai0, ai1)]);
+							}
+						}));
+					}
+				}
+			}
+		}
+		try
+		{
+			for (Future<?> task : tasks) task.get();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ee)
+		{
+			throw new RuntimeException(ee.getCause());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		elapsedNanos += System.nanoTime() - start;
+	}
+
+	/**
+	 * Plays the battles of one entry and adds them to its counters.
+	 *
+	 * @param p0 the index of player 0's Pokemon
+	 * @param p1 the index of player 1's Pokemon
+	 * @param ai0 the index of player 0's AI
+	 * @param ai1 the index of player 1's AI
+	 * @param seed the seed from which each battle's seed is drawn
+	 */
+	private void playEntry(int p0, int p1, int ai0, int ai1, long seed)
+	{
+		PkmnSimulator sim = new PkmnSimulator();
+		PkmnSimulationResult result = new PkmnSimulationResult(pokemon[p0], pokemon[p1]);
+		PkmnRandom seeds = new PkmnRandom(seed);
+		for (int g = 0; g < games; g++)
+		{
+			sim.playBattle(pokemon[p0], pokemon[p1], newAI(ai0), newAI(ai1),
+					seeds.nextLong(), result);
+		}
+
+		int base = entry(p0, p1, ai0, ai1) * COUNTERS;
+		counts.addAndGet(base + WINS0, result.getWins(0));
+		counts.addAndGet(base + WINS1, result.getWins(1));
+		counts.addAndGet(base + DRAWS, result.getDraws());
+		counts.addAndGet(base + TURNS, result.getTotalTurns());
+	}
+
+	/**
+	 * Get one counter of an entry.
+	 */
+	private long get(PkmnPokemon p0, PkmnPokemon p1, int ai0, int ai1, int counter)
+	{
+		return counts.get(entry(indexOf(p0), indexOf(p1), ai0, ai1) * COUNTERS + counter);
+	}
+
+	/**
+	 * Get the index of a Pokemon among the tournament's Pokemon.
+	 *
+	 * @param p the Pokemon
+	 * @return its index
+	 * @throws IllegalArgumentException if the Pokemon is not taking part
+	 */
+	private int indexOf(PkmnPokemon p)
+	{
+		for (int i = 0; i < pokemon.length; i++)
+		{
+			if (pokemon[i] == p) return i;
+		}
+		throw new IllegalArgumentException(p + " is not in the tournament");
+	}
+
+	/**
+	 * Get how many battles a player won in one entry.
+	 *
+	 * @param p0 player 0's Pokemon
+	 * @param p1 player 1's Pokemon
+	 * @param ai0 the index of player 0's AI in AI_NAMES
+	 * @param ai1 the index of player 1's AI
+	 * @param player the 0/1 id of the player
+	 * @return the number of wins
+	 */
+	public long getWins(PkmnPokemon p0, PkmnPokemon p1, int ai0, int ai1, int player)
+	{
+		return get(p0, p1, ai0, ai1, player == 0 ? WINS0 : WINS1);
+	}
+
+	/**
+	 * Get how many battles of one entry were drawn.
+	 *
+	 * @param p0 player 0's Pokemon
+	 * @param p1 player 1's Pokemon
+	 * @param ai0 the index of player 0's AI in AI_NAMES
+	 * @param ai1 the index of player 1's AI
+	 * @return the number of draws
+	 */
+	public long getDraws(PkmnPokemon p0, PkmnPokemon p1, int ai0, int ai1)
+	{
+		return get(p0, p1, ai0, ai1, DRAWS);
+	}
+
+	/**
+	 * Get how many turns the battles of one entry took in all.
+	 *
+	 * @param p0 player 0's Pokemon
+	 * @param p1 player 1's Pokemon
+	 * @param ai0 the index of player 0's AI in AI_NAMES
+	 * @param ai1 the index of player 1's AI
+	 * @return the number of turns
+	 */
+	public long getTurns(PkmnPokemon p0, PkmnPokemon p1, int ai0, int ai1)
+	{
+		return get(p0, p1, ai0, ai1, TURNS);
+	}
+
+	/**
+	 * Get how many battles have been played in all.
+	 *
+	 * @return the number of battles
+	 */
+	public long getBattles()
+	{
+		long battles = 0;
+		for (int i = 0; i < counts.length(); i += COUNTERS)
+		{
+			battles += counts.get(i + WINS0) + counts.get(i + WINS1) + counts.get(i + DRAWS);
+		}
+		return battles;
+	}
+
+	/**
+	 * Get how long the tournament took to play.
+	 *
+	 * @return elapsedNanos
+	 */
+	public long getElapsedNanos() { return elapsedNanos; }
+
+	/**
+	 * Writes the tally as CSV, one line per entry that has been played.
+	 *
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeCsv(File file) throws IOException
+	{
+		PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+		try
+		{
+			out.println("pokemon0,pokemon1,ai0,ai1,wins0,wins1,draws,turns");
+			for (int i = 0; i < pokemon.length; i++)
+			{
+				for (int j = 0; j < pokemon.length; j++)
+				{
+					for (int a = 0; a < AI_NAMES.length; a++)
+					{
+						for (int b = 0; b < AI_NAMES.length; b++)
+						{
+							int base = entry(i, j, a, b) * COUNTERS;
+							long battles = counts.get(base + WINS0) + counts.get(base + WINS1)
+									+ counts.get(base + DRAWS);
+							if (battles == 0) continue;
+							out.println(pokemon[i] + "," + pokemon[j] + "," + AI_NAMES[a] + ","
+									+ AI_NAMES[b] + "," + counts.get(base + WINS0) + ","
+									+ counts.get(base + WINS1) + "," + counts.get(base + DRAWS)
+									+ "," + counts.get(base + TURNS));
+						}
+					}
+				}
+			}
+			if (out.checkError()) throw new IOException("could not write " + file);
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the tally as a binary file.
+	 *
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeBinary(File file) throws IOException
+	{
+		DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)));
+		try
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(pokemon.length);
+			for (PkmnPokemon p : pokemon) out.writeUTF(p.name());
+			out.writeInt(AI_NAMES.length);
+			for (String ai : AI_NAMES) out.writeUTF(ai);
+			for (int i = 0; i < counts.length(); i++) out.writeLong(counts.get(i));
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+}
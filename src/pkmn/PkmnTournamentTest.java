@@ -0,0 +1,75 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.io.*;
+
+/**
+ * Test class for PkmnTournament.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnTournamentTest
+{
+	//The Pokemon of the small tournaments used for testing.
+	PkmnPokemon[] pokemon = {PkmnPokemon.Mewtwo, PkmnPokemon.Pikachu, PkmnPokemon.Charizard};
+
+	@Test
+	/**
+	 * Make sure every pairing is played with every pair of AIs, and that
+	 * the tally does not depend on the number of threads.
+	 */
+	public void testPlayIsCompleteAndReproducible()
+	{
+		PkmnTournament one = new PkmnTournament(pokemon, 5);
+		one.play(7L, 1);
+		PkmnTournament four = new PkmnTournament(pokemon, 5);
+		four.play(7L, 4);
+
+		int ais = PkmnTournament.AI_NAMES.length;
+		assertTrue(one.getBattles() == 3*2 * ais*ais * 5);
+		for (PkmnPokemon p0 : pokemon)
+		{
+			for (PkmnPokemon p1 : pokemon)
+			{
+				for (int a = 0; a < ais; a++)
+				{
+					for (int b = 0; b < ais; b++)
+					{
+						assertTrue(one.getWins(p0, p1, a, b, 0) == four.getWins(p0, p1, a, b, 0));
+						assertTrue(one.getDraws(p0, p1, a, b) == four.getDraws(p0, p1, a, b));
+						assertTrue(one.getTurns(p0, p1, a, b) == four.getTurns(p0, p1, a, b));
+					}
+				}
+			}
+		}
+		assertTrue(one.getWins(PkmnPokemon.Mewtwo, PkmnPokemon.Pikachu, 0, 0, 0) == 5);
+	}
+
+	@Test
+	/**
+	 * Make sure the CSV has a header and one line per entry played.
+	 */
+	public void testWriteCsv() throws IOException
+	{
+		PkmnTournament tournament = new PkmnTournament(pokemon, 2);
+		tournament.play(7L, 2);
+		File file = File.createTempFile("tournament", ".csv");
+		try
+		{
+			tournament.writeCsv(file);
+			BufferedReader in = new BufferedReader(new FileReader(file));
+			int lines = 0;
+			while (in.readLine() != null) lines++;
+			in.close();
+			int ais = PkmnTournament.AI_NAMES.length;
+			assertTrue(lines == 1 + 3*2 * ais*ais);
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package pkmn;
+
+/**
+ * How effective each type of attack is against each Pokemon, with both of
+ * the Pokemon's types already taken into account.  The multipliers are
+ * kept as whole numbers of quarters (0, 1, 2, 4, 8 or 16 for 0x, 1/4x,
+ * 1/2x, 1x, 2x and 4x) in one small array, indexed by the attack type's
+ * number and the defending Pokemon's ordinal.
+ *
+ * The table is built from PkmnGameImpl.typeEffectiveness once, when the
+ * class is loaded.  A missing second type, and the VARIABLE and NULL
+ * types, do not change the damage.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnTypeTable
+{
+	//a multiplier of one, in quarters
+	public static final int ONE = 4;
+
+	//the number of real types (NORMAL through STEEL)
+	private static final int TYPES = 17;
+
+	//all of the Pokemon, in ordinal order
+	private static final PkmnPokemon[] POKEMON = PkmnPokemon.values();
+
+	//the multiplier of each attack type against each Pokemon, in quarters
+	private static final byte[] quarters;
+
+	static
+	{
+		quarters = new byte[TYPES*POKEMON.length];
+		for (int type = 0; type < TYPES; type++)
+		{
+			for (PkmnPokemon defender : POKEMON)
+			{
+				int q = effectiveness(type, defender.getType1()) * effectiveness(type, defender.getType2()) / ONE;
+				quarters[type*POKEMON.length + defender.ordinal()] = (byte)q;
+			}
+		}
+	}
+
+	/**
+	 * This class only has static members, so there is no reason to create one.
+	 */
+	private PkmnTypeTable()
+	{
+	}
+
+	/**
+	 * How effective one type is against another, in quarters.
+	 *
+	 * @param attack the number of the move's type
+	 * @param defend one of the defending Pokemon's types
+	 * @return the multiplier, in quarters
+	 */
+	private static int effectiveness(int attack, PkmnType defend)
+	{
+		if (defend.getNum() >= TYPES) return ONE;
+		return (int)(PkmnGameImpl.typeEffectiveness[attack][defend.getNum()] * ONE);
+	}
+
+	/**
+	 * Get how effective a type of attack is against a Pokemon, in quarters.
+	 *
+	 * @param attack the type of the move
+	 * @param defender the defending Pokemon
+	 * @return the multiplier, in quarters (ONE is no change)
+	 */
+	public static int getQuarters(PkmnType attack, PkmnPokemon defender)
+	{
+		if (attack.getNum() >= TYPES) return ONE;
+		return quarters[attack.getNum()*POKEMON.length + defender.ordinal()];
+	}
+
+	/**
+	 * Get how effective a type of attack is against a Pokemon.
+	 *
+	 * @param attack the type of the move
+	 * @param defender the defending Pokemon
+	 * @return the multiplier (0, .25, .5, 1, 2 or 4)
+	 */
+	public static double getMultiplier(PkmnType attack, PkmnPokemon defender)
+	{
+		return getQuarters(attack, defender) / (double)ONE;
+	}
+}
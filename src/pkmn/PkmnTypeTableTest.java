@@ -0,0 +1,49 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+/**
+ * Test class for PkmnTypeTable.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnTypeTableTest
+{
+	@Test
+	/**
+	 * Make sure every entry is the product of the effectiveness against
+	 * both of the defender's types.
+	 */
+	public void testTableMatchesTypeChart()
+	{
+		for (PkmnType attack : PkmnType.values())
+		{
+			for (PkmnPokemon defender : PkmnPokemon.values())
+			{
+				double expected = 1;
+				if (attack.getNum() <= 16)
+				{
+					if (defender.getType1().getNum() <= 16)
+						expected *= PkmnGameImpl.typeEffectiveness[attack.getNum()][defender.getType1().getNum()];
+					if (defender.getType2().getNum() <= 16)
+						expected *= PkmnGameImpl.typeEffectiveness[attack.getNum()][defender.getType2().getNum()];
+				}
+				assertTrue(PkmnTypeTable.getMultiplier(attack, defender) == expected);
+			}
+		}
+	}
+
+	@Test
+	/**
+	 * Rock is super effective against both of Charizard's types, and
+	 * Ghost does nothing to Snorlax.
+	 */
+	public void testDualTypes()
+	{
+		assertTrue(PkmnTypeTable.getQuarters(PkmnType.ROCK, PkmnPokemon.Charizard) == 4*PkmnTypeTable.ONE);
+		assertTrue(PkmnTypeTable.getQuarters(PkmnType.GHOST, PkmnPokemon.Snorlax) == 0);
+		assertTrue(PkmnTypeTable.getQuarters(PkmnType.NULL, PkmnPokemon.Snorlax) == PkmnTypeTable.ONE);
+	}
+}
@@ -0,0 +1,135 @@
+package pkmn;
+
+import java.io.*;
+
+/**
+ * The chance that each Pokemon beats each other Pokemon in a one-on-one
+ * battle.  Entry (i, j) is for Pokemon i as player 0 against Pokemon j
+ * as player 1, where Pokemon are numbered by their ordinals.
+ *
+ * A matrix can be written to and read from a binary file: the int MAGIC,
+ * the number of Pokemon n, their n names, then the n*n win chances of
+ * player 0 and the n*n draw chances, row by row, as doubles.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnWinMatrix
+{
+	//the first int of a win matrix file ("PKWM")
+	public static final int MAGIC = 0x504b574d;
+
+	//the Pokemon, in ordinal order
+	private PkmnPokemon[] pokemon;
+	//the chance of player 0 winning and of a draw, for each pairing
+	private double[] win;
+	private double[] draw;
+
+	/**
+	 * Constructor for an empty PkmnWinMatrix of every Pokemon.
+	 */
+	public PkmnWinMatrix()
+	{
+		pokemon = PkmnPokemon.values();
+		win = new double[pokemon.length*pokemon.length];
+		draw = new double[pokemon.length*pokemon.length];
+	}
+
+	/**
+	 * Sets the chances for one pairing.
+	 *
+	 * @param p0 the Pokemon of player 0
+	 * @param p1 the Pokemon of player 1
+	 * @param winChance the chance that player 0 wins
+	 * @param drawChance the chance that neither player wins
+	 */
+	public void set(PkmnPokemon p0, PkmnPokemon p1, double winChance, double drawChance)
+	{
+		int idx = p0.ordinal()*pokemon.length + p1.ordinal();
+		win[idx] = winChance;
+		draw[idx] = drawChance;
+	}
+
+	/**
+	 * Get the chance that player 0 wins.
+	 *
+	 * @param p0 the Pokemon of player 0
+	 * @param p1 the Pokemon of player 1
+	 * @return the chance that p0 beats p1
+	 */
+	public double getWinChance(PkmnPokemon p0, PkmnPokemon p1)
+	{
+		return win[p0.ordinal()*pokemon.length + p1.ordinal()];
+	}
+
+	/**
+	 * Get the chance that neither player wins.
+	 *
+	 * @param p0 the Pokemon of player 0
+	 * @param p1 the Pokemon of player 1
+	 * @return the chance of a draw
+	 */
+	public double getDrawChance(PkmnPokemon p0, PkmnPokemon p1)
+	{
+		return draw[p0.ordinal()*pokemon.length + p1.ordinal()];
+	}
+
+	/**
+	 * Writes the matrix to a binary file.
+	 *
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(File file) throws IOException
+	{
+		DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)));
+		try
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(pokemon.length);
+			for (PkmnPokemon p : pokemon) out.writeUTF(p.name());
+			for (double w : win) out.writeDouble(w);
+			for (double d : draw) out.writeDouble(d);
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads a matrix from a binary file written by write().
+	 *
+	 * @param file the file to read
+	 * @return the matrix
+	 * @throws IOException if the file cannot be read, or does not hold a
+	 *  matrix of the Pokemon in this version of the game
+	 */
+	public static PkmnWinMatrix read(File file) throws IOException
+	{
+		DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)));
+		try
+		{
+			if (in.readInt() != MAGIC) throw new IOException("not a win matrix: " + file);
+
+			PkmnWinMatrix matrix = new PkmnWinMatrix();
+			int n = in.readInt();
+			if (n != matrix.pokemon.length)
+				throw new IOException("win matrix is for " + n + " Pokemon: " + file);
+			for (PkmnPokemon p : matrix.pokemon)
+			{
+				if (!in.readUTF().equals(p.name()))
+					throw new IOException("win matrix is for different Pokemon: " + file);
+			}
+			for (int i = 0; i < matrix.win.length; i++) matrix.win[i] = in.readDouble();
+			for (int i = 0; i < matrix.draw.length; i++) matrix.draw[i] = in.readDouble();
+			return matrix;
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+}
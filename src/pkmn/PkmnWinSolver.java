@@ -0,0 +1,559 @@
+package pkmn;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import ai.CommonAI;
+
+/**
+ * Calculates the exact chance of each side winning a one-on-one battle,
+ * when both sides choose their moves the way PkmnSimulator does (CommonAI,
+ * falling back to the first move with PP left).
+ *
+ * With one Pokemon a side, a battle's state at the start of a turn is the
+ * two HP values and how much PP each side has used; the move each side
+ * uses follows from the PP it has used.  Every turn either uses some PP or
+ * changes nothing (both sides missed), so the states can be visited in
+ * order of PP used, passing each state's chance on to the states it can
+ * lead to.  A turn in which nothing changes is just tried again, so its
+ * chance is spread over the other outcomes.  A side with no PP left can
+ * never move again, so the battle is a draw.
+ *
+ * Usage: PkmnWinSolver [-t threads] [-o file] [Pokemon:Pokemon ...]
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnWinSolver
+{
+	//where the matrix is written if no file is given
+	private static final String DEFAULT_FILE = "winmatrix.bin";
+
+	/**
+	 * Runs the solver from the command line.  With pairings, prints the
+	 * chances for each; otherwise solves every pairing and writes the
+	 * matrix to a file.
+	 *
+	 * @param args the optional "-t threads" and "-o file", followed by any
+	 *  number of pairings of the form Pokemon:Pokemon
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		int threads = Runtime.getRuntime().availableProcessors();
+		String file = DEFAULT_FILE;
+		Vector<PkmnPokemon[]> pairings = new Vector<PkmnPokemon[]>();
+
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("-t") && i+1 < args.length)
+			{
+				threads = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-o") && i+1 < args.length)
+			{
+				file = args[++i];
+			}
+			else
+			{
+				int idx = args[i].indexOf(":");
+				if (idx < 0)
+				{
+					usage("bad pairing: " + args[i]);
+				}
+				try
+				{
+					PkmnPokemon[] pair = {
+							PkmnPokemon.valueOf(args[i].substring(0, idx)),
+							PkmnPokemon.valueOf(args[i].substring(idx+1))
+					};
+					pairings.add(pair);
+				}
+				catch (IllegalArgumentException iae)
+				{
+					usage("unknown Pokemon in " + args[i]);
+				}
+			}
+		}
+
+		PkmnWinSolver solver = new PkmnWinSolver();
+		if (!pairings.isEmpty())
+		{
+			for (PkmnPokemon[] pair : pairings)
+			{
+				double[] chance = solver.solve(pair[0], pair[1]);
+				System.out.printf("%s vs %s: %s %.6f, %s %.6f, draw %.6f%n", pair[0], pair[1],
+						pair[0], chance[0], pair[1], chance[1], chance[2]);
+			}
+			return;
+		}
+
+		long start = System.nanoTime();
+		PkmnWinMatrix matrix = solver.solveAll(threads);
+		matrix.write(new File(file));
+		System.out.printf("solved %d pairings on %d threads in %.1f s, wrote %s%n",
+				PkmnPokemon.values().length*PkmnPokemon.values().length, threads,
+				(System.nanoTime() - start) / 1e9, file);
+	}
+
+	/**
+	 * Prints an error and the usage message, then exits.
+	 *
+	 * @param error what was wrong with the arguments
+	 */
+	private static void usage(String error)
+	{
+		System.err.println(error);
+		System.err.println("usage: PkmnWinSolver [-t threads] [-o file] [Pokemon:Pokemon ...]");
+		System.exit(1);
+	}
+
+	/**
+	 * Solves every pairing of Pokemon, spreading the rows of the matrix
+	 * across threads.
+	 *
+	 * @param threads how many threads to use
+	 * @return the matrix of win and draw chances
+	 */
+	public PkmnWinMatrix solveAll(int threads)
+	{
+		final PkmnWinMatrix matrix = new PkmnWinMatrix();
+		final PkmnPokemon[] pokemon = PkmnPokemon.values();
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+		Vector<Future<?>> rows = new Vector<Future<?>>();
+		for (final PkmnPokemon p0 : pokemon)
+		{
+			rows.add(pool.submit(new Runnable() {
+				public void run()
+				{
+					for (PkmnPokemon p1 : pokemon)
+					{
+						double[] chance = solve(p0, p1);
+						synchronized(matrix)
+						{
+							matrix.set(p0, p1, chance[0], chance[2]);
+						}
+					}
+				}
+			}));
+		}
+		try
+		{
+			for (Future<?> row : rows) row.get();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ee)
+		{
+			throw new RuntimeException(ee.getCause());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		return matrix;
+	}
+
+	/**
+	 * Solves one pairing.
+	 *
+	 * @param p0 the Pokemon of player 0
+	 * @param p1 the Pokemon of player 1
+	 * @return the chance that player 0 wins, that player 1 wins, and
+	 *  that neither does
+	 */
+	public double[] solve(PkmnPokemon p0, PkmnPokemon p1)
+	{
+		Battle battle = new Battle(p0, p1);
+		battle.run();
+		return battle.chance;
+	}
+
+	/**
+	 * The moves one side uses, in the order it uses them, and what each
+	 * of them can do.
+	 */
+	private static class Side
+	{
+		//the side's Pokemon
+		PkmnPokemon pokemon;
+		//whether the Pokemon can use Roost
+		boolean flying;
+		//how many moves the side can make before it runs out of PP
+		int total;
+		//the moveset index of the move used after the given amount of PP has been used
+		int[] moveAt;
+		//for each move: its op code, the chance it changes nothing, and
+		// the damage and chance of each of its other outcomes
+		int[] opCode = new int[PkmnDamageTable.MOVES];
+		double[] noChange = new double[PkmnDamageTable.MOVES];
+		int[][] damage = new int[PkmnDamageTable.MOVES][];
+		double[][] chance = new double[PkmnDamageTable.MOVES][];
+
+		/**
+		 * Constructor for Side
+		 *
+		 * @param self the side's Pokemon
+		 * @param opponent the other side's Pokemon
+		 */
+		Side(PkmnPokemon self, PkmnPokemon opponent)
+		{
+			pokemon = self;
+			flying = self.getType1() == PkmnType.FLYING || self.getType2() == PkmnType.FLYING;
+
+			//the AI's choice is used until it runs out, then the moveset in order
+			PkmnMove preferred = new CommonAI().chooseMove(self, opponent, self.hp);
+			int pref = (preferred == null) ? -1 : PkmnDamageTable.moveIndex(self, preferred);
+			total = 0;
+			for (PkmnMove move : self.moveset) total += move.getPP();
+			moveAt = new int[total];
+			int k = 0;
+			if (pref >= 0)
+			{
+				for (int i = 0; i < self.moveset[pref].getPP(); i++) moveAt[k++] = pref;
+			}
+			for (int m = 0; m < PkmnDamageTable.MOVES; m++)
+			{
+				if (m == pref) continue;
+				for (int i = 0; i < self.moveset[m].getPP(); i++) moveAt[k++] = m;
+			}
+
+			for (int m = 0; m < PkmnDamageTable.MOVES; m++)
+			{
+				PkmnMove move = self.moveset[m];
+				opCode[m] = move.getOpCode();
+				if (opCode[m] == 1 || (opCode[m] == 2 && flying))
+				{
+					//heals, always
+					noChange[m] = 0;
+					damage[m] = new int[] {0};
+					chance[m] = new double[] {1};
+				}
+				else if (opCode[m] == 2)
+				{
+					//Roost does nothing for a Pokemon that cannot fly
+					noChange[m] = 1;
+					damage[m] = new int[0];
+					chance[m] = new double[0];
+				}
+				else
+				{
+					PkmnDamageDistribution dist = PkmnDamageDistribution.get(self, opponent, move);
+					noChange[m] = 1 - dist.getHitChance();
+					damage[m] = new int[dist.size()];
+					chance[m] = new double[dist.size()];
+					for (int i = 0; i < dist.size(); i++)
+					{
+						damage[m][i] = dist.getDamage(i);
+						chance[m][i] = dist.getHitChance() * dist.getHitProbability(i);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The states of one battle, and the chance of each way it can end.
+	 */
+	private static class Battle
+	{
+		//the two sides, and which of them attacks first each turn
+		Side[] side = new Side[2];
+		int first;
+		int second;
+		//the chance of reaching each state, grouped by how much PP has been used
+		ProbabilityMap[] level;
+		//the chance that player 0 wins, that player 1 wins, and of a draw
+		double[] chance = new double[3];
+
+		//the state being worked on: HP and PP used by each side
+		int[] hp = new int[2];
+		int[] used = new int[2];
+
+		//marks a state halfway through a turn in which the first attack changed something
+		static final long CHANGED = 1L << 36;
+
+		/**
+		 * Constructor for Battle
+		 *
+		 * @param p0 the Pokemon of player 0
+		 * @param p1 the Pokemon of player 1
+		 */
+		Battle(PkmnPokemon p0, PkmnPokemon p1)
+		{
+			side[0] = new Side(p0, p1);
+			side[1] = new Side(p1, p0);
+			//the faster Pokemon attacks first, as in PkmnGameImpl.executeBattle
+			first = (p0.spe < p1.spe) ? 1 : 0;
+			second = 1 - first;
+			level = new ProbabilityMap[side[0].total + side[1].total + 1];
+		}
+
+		/**
+		 * Visits every state, from the start of the battle on.  The turns
+		 * from each group of states are played in two halves: the first
+		 * attack of every turn, then the second attack from wherever the first
+		 * left the battle, so that equal states halfway through a turn are
+		 * only played on once.
+		 */
+		void run()
+		{
+			add(side[0].pokemon.hp, side[1].pokemon.hp, 0, 0, 1);
+			for (int l = 0; l < level.length; l++)
+			{
+				ProbabilityMap states = level[l];
+				if (states == null) continue;
+				level[l] = null;
+				ProbabilityMap halfway = new ProbabilityMap();
+				for (int slot = 0; slot < states.capacity(); slot++)
+				{
+					long key = states.keyAt(slot);
+					if (key >= 0) firstAttack(key, states.valueAt(slot), halfway);
+				}
+				states = null;
+				for (int slot = 0; slot < halfway.capacity(); slot++)
+				{
+					long key = halfway.keyAt(slot);
+					if (key >= 0) secondAttack(key, halfway.valueAt(slot));
+				}
+			}
+		}
+
+		/**
+		 * Plays the first attack of a turn from a state.
+		 *
+		 * @param key the state
+		 * @param p the chance of reaching the state
+		 * @param halfway where to add the states the attack leads to
+		 */
+		private void firstAttack(long key, double p, ProbabilityMap halfway)
+		{
+			Side f = side[first];
+			Side g = side[second];
+			int usedF = used(key, first);
+			int usedG = used(key, second);
+			if (usedF >= f.total || usedG >= g.total)
+			{
+				//someone has no PP left, so no one can win
+				chance[2] += p;
+				return;
+			}
+			int mf = f.moveAt[usedF];
+			int mg = g.moveAt[usedG];
+
+			//a turn in which neither side changes anything is played again
+			double repeat = f.noChange[mf] * g.noChange[mg];
+			if (repeat >= 1)
+			{
+				chance[2] += p;
+				return;
+			}
+			p /= 1 - repeat;
+
+			for (int o = 0; o < f.chance[mf].length; o++)
+			{
+				load(key);
+				attack(first, mf, f.damage[mf][o]);
+				if (hp[second] == 0)
+				{
+					chance[first] += p * f.chance[mf][o];
+				}
+				else
+				{
+					halfway.add(pack(hp[0], hp[1], used[0], used[1]) | CHANGED, p * f.chance[mf][o]);
+				}
+			}
+			if (f.noChange[mf] > 0)
+			{
+				halfway.add(key, p * f.noChange[mf]);
+			}
+		}
+
+		/**
+		 * Plays the second attack of a turn from halfway through it.
+		 *
+		 * @param key the state after the first attack, marked CHANGED if the
+		 *  first attack changed anything
+		 * @param p the chance of reaching the state
+		 */
+		private void secondAttack(long key, double p)
+		{
+			Side g = side[second];
+			int mg = g.moveAt[used(key, second)];
+			for (int o = 0; o < g.chance[mg].length; o++)
+			{
+				load(key);
+				attack(second, mg, g.damage[mg][o]);
+				if (hp[first] == 0)
+				{
+					chance[second] += p * g.chance[mg][o];
+				}
+				else
+				{
+					add(hp[0], hp[1], used[0], used[1], p * g.chance[mg][o]);
+				}
+			}
+			//if neither attack changed anything the turn is played again, which
+			// firstAttack has already allowed for
+			if ((key & CHANGED) != 0 && g.noChange[mg] > 0)
+			{
+				load(key);
+				add(hp[0], hp[1], used[0], used[1], p * g.noChange[mg]);
+			}
+		}
+
+		/**
+		 * Applies one outcome of an attack to the current state, as the
+		 * attack methods of PkmnGameImpl would.
+		 *
+		 * @param a the attacking side
+		 * @param m the moveset index of the attacker's move
+		 * @param dmg the damage done
+		 */
+		private void attack(int a, int m, int dmg)
+		{
+			int d = 1 - a;
+			int maxHP = side[a].pokemon.hp;
+			switch (side[a].opCode[m])
+			{
+			case 1:
+			case 2:
+				hp[a] = Math.min(maxHP, hp[a] + maxHP/2);
+				break;
+			case 3:
+				//the attacker's new HP is based on the defender's (see healMove3)
+				int prevHP = hp[d];
+				hp[d] = Math.max(0, prevHP - dmg);
+				hp[a] = Math.min(maxHP, prevHP + dmg/2);
+				break;
+			default:
+				hp[d] = Math.max(0, hp[d] - dmg);
+				break;
+			}
+			used[a]++;
+		}
+
+		/**
+		 * Adds to the chance of reaching a state.
+		 */
+		private void add(int hp0, int hp1, int used0, int used1, double p)
+		{
+			int l = used0 + used1;
+			if (level[l] == null) level[l] = new ProbabilityMap();
+			level[l].add(pack(hp0, hp1, used0, used1), p);
+		}
+
+		/**
+		 * Packs a state into a long: ten bits for each HP and eight for the
+		 * PP used by each side.
+		 */
+		private static long pack(int hp0, int hp1, int used0, int used1)
+		{
+			return hp0 | (long)hp1 << 10 | (long)used0 << 20 | (long)used1 << 28;
+		}
+
+		/**
+		 * Makes a state the current state.
+		 *
+		 * @param key the state
+		 */
+		private void load(long key)
+		{
+			hp[0] = (int)(key & 0x3ff);
+			hp[1] = (int)((key >>> 10) & 0x3ff);
+			used[0] = used(key, 0);
+			used[1] = used(key, 1);
+		}
+
+		/**
+		 * Get how much PP a side has used in a state.
+		 */
+		private static int used(long key, int s)
+		{
+			return (int)((key >>> (20 + 8*s)) & 0xff);
+		}
+	}
+
+	/**
+	 * A hash map from states (non-negative longs) to chances, kept in two
+	 * arrays so that millions of states cost no objects.
+	 */
+	private static class ProbabilityMap
+	{
+		//the keys, with -1 marking an empty slot, and their values
+		private long[] keys;
+		private double[] values;
+		//how many slots are in use
+		private int size;
+
+		/**
+		 * Constructor for ProbabilityMap
+		 */
+		ProbabilityMap()
+		{
+			keys = new long[1024];
+			values = new double[1024];
+			Arrays.fill(keys, -1);
+		}
+
+		int capacity() { return keys.length; }
+		long keyAt(int slot) { return keys[slot]; }
+		double valueAt(int slot) { return values[slot]; }
+
+		/**
+		 * Adds to the value of a key, which starts at zero.
+		 *
+		 * @param key the key
+		 * @param p the amount to add
+		 */
+		void add(long key, double p)
+		{
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (keys[slot] != -1 && keys[slot] != key) slot = (slot + 1) & mask;
+			if (keys[slot] == -1)
+			{
+				keys[slot] = key;
+				if (++size * 2 > keys.length) {
+					values[slot] = p;
+					grow();
+					return;
+				}
+			}
+			values[slot] += p;
+		}
+
+		/**
+		 * Doubles the number of slots.
+		 */
+		private void grow()
+		{
+			long[] oldKeys = keys;
+			double[] oldValues = values;
+			keys = new long[oldKeys.length * 2];
+			values = new double[oldKeys.length * 2];
+			Arrays.fill(keys, -1);
+			int mask = keys.length - 1;
+			for (int i = 0; i < oldKeys.length; i++)
+			{
+				if (oldKeys[i] == -1) continue;
+				int slot = hash(oldKeys[i]) & mask;
+				while (keys[slot] != -1) slot = (slot + 1) & mask;
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+
+		/**
+		 * Spreads the bits of a key.
+		 */
+		private static int hash(long key)
+		{
+			key *= 0x9e3779b97f4a7c15L;
+			return (int)(key ^ (key >>> 32));
+		}
+	}
+}
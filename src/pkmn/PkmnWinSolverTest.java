@@ -0,0 +1,84 @@
+package pkmn;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.io.File;
+
+/**
+ * Test class for PkmnWinSolver and PkmnWinMatrix.
+ *
+ * @author Pokemon Purple Team
+ * @version 17 October 2026
+ */
+public class PkmnWinSolverTest
+{
+	@Test
+	/**
+	 * Make sure the chances of a battle's outcomes add up to one, and
+	 * that a Pokemon that always knocks out Pikachu first always wins.
+	 */
+	public void testSolve()
+	{
+		PkmnWinSolver solver = new PkmnWinSolver();
+		double[] chance = solver.solve(PkmnPokemon.Charizard, PkmnPokemon.Blastoise);
+		assertEquals(1, chance[0] + chance[1] + chance[2], 1e-9);
+		assertTrue(chance[1] > chance[0]);
+
+		chance = solver.solve(PkmnPokemon.Mewtwo, PkmnPokemon.Pikachu);
+		assertEquals(1, chance[0], 1e-9);
+	}
+
+	@Test
+	/**
+	 * Make sure the solved chances agree with simulated battles, to within
+	 * a few standard errors.
+	 */
+	public void testAgreesWithSimulator()
+	{
+		PkmnWinSolver solver = new PkmnWinSolver();
+		PkmnSimulator sim = new PkmnSimulator();
+		PkmnPokemon[][] pairings = {
+				{PkmnPokemon.Charizard, PkmnPokemon.Blastoise},
+				{PkmnPokemon.Mew, PkmnPokemon.Mew},
+				{PkmnPokemon.Snorlax, PkmnPokemon.Pikachu},
+				{PkmnPokemon.Mewtwo, PkmnPokemon.Moltres},
+		};
+		int games = 4000;
+		for (PkmnPokemon[] pair : pairings)
+		{
+			double[] chance = solver.solve(pair[0], pair[1]);
+			PkmnSimulationResult result = sim.simulate(pair[0], pair[1], games, 11L, 1);
+			for (int player = 0; player < 2; player++)
+			{
+				double p = chance[player];
+				double error = Math.sqrt(p * (1 - p) / games);
+				double observed = result.getWins(player) / (double)games;
+				assertEquals(pair[0] + ":" + pair[1], p, observed, 4 * error + 1e-9);
+			}
+		}
+	}
+
+	@Test
+	/**
+	 * Make sure a matrix reads back the way it was written.
+	 */
+	public void testWriteAndRead() throws Exception
+	{
+		PkmnWinMatrix matrix = new PkmnWinMatrix();
+		matrix.set(PkmnPokemon.Mew, PkmnPokemon.Moltres, .25, .125);
+		File file = File.createTempFile("winmatrix", ".bin");
+		try
+		{
+			matrix.write(file);
+			PkmnWinMatrix copy = PkmnWinMatrix.read(file);
+			assertEquals(.25, copy.getWinChance(PkmnPokemon.Mew, PkmnPokemon.Moltres), 0);
+			assertEquals(.125, copy.getDrawChance(PkmnPokemon.Mew, PkmnPokemon.Moltres), 0);
+			assertEquals(0, copy.getWinChance(PkmnPokemon.Moltres, PkmnPokemon.Mew), 0);
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+}